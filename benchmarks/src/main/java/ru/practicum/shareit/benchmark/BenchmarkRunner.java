@@ -0,0 +1,33 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Запуск: java -jar benchmarks/target/benchmarks.jar [опции JMH], например -p rows=10000 BookingServiceBenchmark.
+// Результаты вместе с нормой аллокаций (gc.alloc.rate.norm) пишутся в JSON для сравнения между релизами:
+// по умолчанию в jmh-result.json рядом с jar-файлом, другой путь задаётся опцией JMH -rff.
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLine.getResult().orElse(defaultResult()))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    private static String defaultResult() throws Exception {
+        Path location = Paths.get(BenchmarkRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return location.resolveSibling("jmh-result.json").toString();
+    }
+}
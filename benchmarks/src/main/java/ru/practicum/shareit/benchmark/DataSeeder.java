@@ -0,0 +1,66 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DataSeeder {
+    private static final int BATCH_SIZE = 10_000;
+    private static final String[] STATUSES = {"APPROVED", "WAITING", "REJECTED", "CANCELED"};
+    private static final String[] NAMES = {"Дрель", "Отвёртка", "Пила", "Молоток", "Стремянка", "Шуруповёрт",
+            "Лобзик", "Перфоратор"};
+
+    private DataSeeder() {
+    }
+
+    public static int users(int rows) {
+        return Math.max(10, rows / 100);
+    }
+
+    public static int items(int rows) {
+        return Math.max(10, rows / 10);
+    }
+
+    // Каждая вещь получает rows / items бронирований с шагом в два дня вокруг текущего момента,
+    // поэтому подтверждённые периоды не пересекаются и в выборке есть все состояния.
+    public static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        int users = users(rows);
+        int items = items(rows);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 1; i <= users; i++) {
+            batch.add(new Object[]{"User" + i, "user" + i + "@mail.ru"});
+            flush(jdbcTemplate, "insert into users (user_name, email) values (?, ?)", batch, i == users);
+        }
+        for (int i = 1; i <= items; i++) {
+            String name = NAMES[i % NAMES.length];
+            batch.add(new Object[]{name + " " + i, "Описание вещи " + name.toLowerCase() + " №" + i, i % 5 != 0,
+                    1 + i % users});
+            flush(jdbcTemplate, "insert into items (item_name, item_description, item_available, owner_id) " +
+                    "values (?, ?, ?, ?)", batch, i == items);
+        }
+        LocalDateTime origin = LocalDateTime.now().minusDays(rows / items + 1).withNano(0);
+        for (int i = 0; i < rows; i++) {
+            long itemId = 1 + i % items;
+            LocalDateTime start = origin.plusDays(2L * (i / items));
+            batch.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), itemId,
+                    1 + (itemId + 1 + i / items) % users, STATUSES[(i / items) % STATUSES.length]});
+            flush(jdbcTemplate, "insert into bookings (start_time, end_time, item_id, booker_id, status) " +
+                    "values (?, ?, ?, ?, ?)", batch, i == rows - 1);
+        }
+        for (int i = 0; i < rows / 10; i++) {
+            batch.add(new Object[]{"Отзыв " + i, 1 + i % users, 1 + i % items, Timestamp.valueOf(origin)});
+            flush(jdbcTemplate, "insert into comments (text, author_id, item_id, created) values (?, ?, ?, ?)",
+                    batch, i == rows / 10 - 1);
+        }
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, String sql, List<Object[]> batch, boolean last) {
+        if (batch.size() >= BATCH_SIZE || last) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+}
@@ -2,28 +2,34 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientSupport;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "false", matchIfMissing = true)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientSupport support) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(support::getRequestFactory)
+                        .build(),
+                support, "bookings", "items"
         );
     }
 
@@ -54,6 +60,36 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getBookingsPage(long userId, BookingState state, String cursor, Integer size) {
+        return get("/cursor" + cursorQuery(cursor), userId, cursorParameters(state, cursor, size));
+    }
+
+    public ResponseEntity<Object> getBookingsOwnerPage(long userId, BookingState state, String cursor, Integer size) {
+        return get("/owner/cursor" + cursorQuery(cursor), userId, cursorParameters(state, cursor, size));
+    }
+
+    public ResponseEntity<Object> getFreeSlots(long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from.toString(),
+                "to", to.toString()
+        );
+        return get("/items/" + itemId + "/slots?from={from}&to={to}", userId, parameters);
+    }
+
+    private String cursorQuery(String cursor) {
+        return cursor == null ? "?state={state}&size={size}" : "?state={state}&cursor={cursor}&size={size}";
+    }
+
+    private Map<String, Object> cursorParameters(BookingState state, String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
+
     public ResponseEntity<Object> approveStatus(long userId, Long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ClientSupport;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.WebClientFactory;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "true")
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClientFactory webClients,
+                                 ClientSupport support) {
+        super(webClients, support, serverUrl + API_PREFIX, "bookings", "items");
+    }
+
+    public Mono<ResponseEntity<Object>> getBookings(long userId, BookingState state, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
+        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookingItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingCurrentOwner(long userId, BookingState state, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsPage(long userId, BookingState state, String cursor, Integer size) {
+        return get("/cursor" + cursorQuery(cursor), userId, cursorParameters(state, cursor, size));
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsOwnerPage(long userId, BookingState state, String cursor, Integer size) {
+        return get("/owner/cursor" + cursorQuery(cursor), userId, cursorParameters(state, cursor, size));
+    }
+
+    public Mono<ResponseEntity<Object>> getFreeSlots(long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from.toString(),
+                "to", to.toString()
+        );
+        return get("/items/" + itemId + "/slots?from={from}&to={to}", userId, parameters);
+    }
+
+    private String cursorQuery(String cursor) {
+        return cursor == null ? "?state={state}&size={size}" : "?state={state}&cursor={cursor}&size={size}";
+    }
+
+    private Map<String, Object> cursorParameters(BookingState state, String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
+
+    public Mono<ResponseEntity<Object>> approveStatus(long userId, Long bookingId, Boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingItemRequestDto;
+import ru.practicum.shareit.exception.ValidationException;
+
+import static ru.practicum.shareit.validation.ValidationGroups.Create;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+
+
+@Controller
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "true")
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader(USER_ID) long userId,
+                                           @RequestBody @Valid @Validated(Create.class) BookingItemRequestDto requestDto) {
+        log.info("Получен POST-запрос к эндпоинту: '/bookings' " +
+                "на создание бронирования от пользователя с ID={}", userId);
+        return bookingClient.bookItem(userId, requestDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> approveStatus(@RequestHeader(USER_ID) long userId,
+                                                @PathVariable Long bookingId,
+                                                @RequestParam boolean approved) {
+        log.info("Получен PATCH-запрос к эндпоинту: '/bookings' на обновление статуса бронирования с ID={}", bookingId);
+        return bookingClient.approveStatus(userId, bookingId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(USER_ID) long userId,
+                                             @PathVariable Long bookingId) {
+        log.info("Получен GET-запрос к эндпоинту: '/bookings' на получение бронирования с ID={}", bookingId);
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader(USER_ID) long userId,
+                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Получен GET-запрос к эндпоинту: '/bookings' на получение " +
+                "списка всех бронирований пользователя с ID={} с параметром STATE={}", userId, state);
+        return bookingClient.getBookings(userId, state, from, size);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getBookingCurrentOwner(@RequestHeader(USER_ID) long userId,
+                                                         @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                         Integer from,
+                                                         @Positive @RequestParam(name = "size", defaultValue = "10")
+                                                         Integer size) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Получен GET-запрос к эндпоинту: '/bookings/owner' на получение " +
+                "списка всех бронирований вещей пользователя с ID={} с параметром STATE={}", userId, state);
+        return bookingClient.getBookingCurrentOwner(userId, state, from, size);
+    }
+
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<Object>> getBookingsPage(@RequestHeader(USER_ID) long userId,
+                                                  @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @Positive @RequestParam(name = "size", defaultValue = "10")
+                                                  Integer size) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Получен GET-запрос к эндпоинту: '/bookings/cursor' на получение " +
+                "страницы бронирований пользователя с ID={} с параметром STATE={}", userId, state);
+        return bookingClient.getBookingsPage(userId, state, cursor, size);
+    }
+
+    @GetMapping("/owner/cursor")
+    public Mono<ResponseEntity<Object>> getBookingsOwnerPage(@RequestHeader(USER_ID) long userId,
+                                                       @RequestParam(name = "state", defaultValue = "all")
+                                                       String stateParam,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @Positive @RequestParam(name = "size", defaultValue = "10")
+                                                       Integer size) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Получен GET-запрос к эндпоинту: '/bookings/owner/cursor' на получение " +
+                "страницы бронирований вещей пользователя с ID={} с параметром STATE={}", userId, state);
+        return bookingClient.getBookingsOwnerPage(userId, state, cursor, size);
+    }
+
+    @GetMapping("/items/{itemId}/slots")
+    public Mono<ResponseEntity<Object>> getFreeSlots(@RequestHeader(USER_ID) long userId,
+                                               @PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания!");
+        }
+        log.info("Получен GET-запрос к эндпоинту: '/bookings/items/{}/slots' на получение " +
+                "свободных периодов вещи с {} по {}", itemId, from, to);
+        return bookingClient.getFreeSlots(userId, itemId, from, to);
+    }
+
+
+}
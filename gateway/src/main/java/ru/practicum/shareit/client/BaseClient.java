@@ -1,22 +1,71 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization", "content-length");
+
     protected final RestTemplate rest;
+    @Nullable
+    private final ResponseCache cache;
+    @Nullable
+    private final SingleFlight singleFlight;
+    @Nullable
+    private final ResourceGuard guard;
+    private final boolean passthrough;
+    private final String family;
+    private final String[] invalidates;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
+        this.cache = null;
+        this.singleFlight = null;
+        this.guard = null;
+        this.passthrough = false;
+        this.family = null;
+        this.invalidates = new String[0];
+    }
+
+    // family - семейство кэшируемых ответов клиента, invalidates - семейства, которые устаревают
+    // после изменяющего запроса этого клиента (включая собственное)
+    public BaseClient(RestTemplate rest, ClientSupport support, String family, String... invalidates) {
+        this.rest = rest;
+        this.cache = support.getCache();
+        this.singleFlight = support.getSingleFlight();
+        this.guard = support.getGuards().get(family);
+        this.passthrough = support.isPassthrough();
+        this.family = family;
+        this.invalidates = invalidates;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -28,7 +77,38 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        if (singleFlight == null) {
+            return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        }
+        return singleFlight.execute(family, requestKey(path, userId, parameters),
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null));
+    }
+
+    protected ResponseEntity<Object> getCached(String path, long userId) {
+        return getCached(path, userId, null);
+    }
+
+    protected ResponseEntity<Object> getCached(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (cache == null || !cache.isEnabled()) {
+            return get(path, userId, parameters);
+        }
+        String key = requestKey(path, userId, parameters);
+        ResponseEntity<Object> cached = cache.get(family, key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation(family);
+        ResponseEntity<Object> response = get(path, userId, parameters);
+        if (response.getStatusCode().is2xxSuccessful()) {
+            cache.put(family, generation, key, response);
+        }
+        return response;
+    }
+
+    private String requestKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return userId + " " + (parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path));
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -80,8 +160,142 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method == HttpMethod.GET || cache == null) {
+            return guarded(() -> sendRequest(method, path, userId, parameters, body));
+        }
+        try {
+            return guarded(() -> sendRequest(method, path, userId, parameters, body));
+        } finally {
+            invalidate();
+        }
+    }
+
+    private <B> ResponseEntity<B> guarded(Supplier<ResponseEntity<B>> call) {
+        if (guard == null) {
+            return call.get();
+        }
+        guard.acquire();
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            ResponseEntity<B> response = call.get();
+            failed = isUnavailable(response.getStatusCode());
+            return response;
+        } finally {
+            guard.release(System.nanoTime() - started, failed);
+        }
+    }
+
+    static boolean isUnavailable(HttpStatus status) {
+        return status == HttpStatus.BAD_GATEWAY || status == HttpStatus.SERVICE_UNAVAILABLE
+                || status == HttpStatus.GATEWAY_TIMEOUT;
+    }
+
+    // Ответ сервера передаётся клиенту по мере получения, без буферизации в памяти шлюза.
+    // Идёт мимо кэша и объединения запросов. Разрешение защиты от перегрузки и соединение из пула держатся
+    // до конца передачи; скорость ответа для адаптивного лимита измеряется до получения заголовков.
+    protected ResponseEntity<StreamingResponseBody> stream(String path, @Nullable Long userId) {
+        if (guard != null) {
+            guard.acquire();
+        }
+        UpstreamBody body = new UpstreamBody(guard);
+        try {
+            ClientHttpRequest request = rest.getRequestFactory()
+                    .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+            request.getHeaders().addAll(defaultHeaders(userId));
+            ClientHttpResponse response = body.open(request);
+            closeOnAsyncCompletion(body);
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(filterHeaders(response.getHeaders()))
+                    .body(body);
+        } catch (IOException e) {
+            body.close();
+            throw new ResourceAccessException("Ошибка при обращении к " + path + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            body.close();
+            throw e;
+        }
+    }
+
+    // Если тело так и не будет записано (тайм-аут или ошибка асинхронной обработки), соединение
+    // и разрешение освобождаются по завершении асинхронного запроса
+    private static void closeOnAsyncCompletion(UpstreamBody body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            WebAsyncUtils.getAsyncManager(((ServletRequestAttributes) attributes).getRequest())
+                    .registerCallableInterceptor(body, body);
+        }
+    }
+
+    private static final class UpstreamBody implements StreamingResponseBody, CallableProcessingInterceptor {
+        @Nullable
+        private final ResourceGuard guard;
+        private final long started = System.nanoTime();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        @Nullable
+        private ClientHttpResponse response;
+        private long latency = -1;
+        private boolean failed = true;
+
+        private UpstreamBody(@Nullable ResourceGuard guard) {
+            this.guard = guard;
+        }
+
+        private ClientHttpResponse open(ClientHttpRequest request) throws IOException {
+            response = request.execute();
+            latency = System.nanoTime() - started;
+            HttpStatus status = HttpStatus.resolve(response.getRawStatusCode());
+            failed = status != null && isUnavailable(status);
+            return response;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try {
+                StreamUtils.copy(response.getBody(), out);
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            close();
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (response != null) {
+                response.close();
+            }
+            if (guard != null) {
+                guard.release(latency >= 0 ? latency : System.nanoTime() - started, failed);
+            }
+        }
+    }
+
+    private void invalidate() {
+        cache.invalidate(invalidates);
+        singleFlight.invalidate(invalidates);
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
+        if (passthrough) {
+            try {
+                return passthroughResponse(parameters != null
+                        ? rest.exchange(path, method, requestEntity, byte[].class, parameters)
+                        : rest.exchange(path, method, requestEntity, byte[].class));
+            } catch (HttpStatusCodeException e) {
+                return passthroughResponse(ResponseEntity.status(e.getStatusCode())
+                        .headers(e.getResponseHeaders())
+                        .body(e.getResponseBodyAsByteArray()));
+            }
+        }
+
         ResponseEntity<Object> shareitServerResponse;
         try {
             if (parameters != null) {
@@ -95,7 +309,7 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    static HttpHeaders defaultHeaders(@Nullable Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
@@ -105,6 +319,24 @@ public class BaseClient {
         return headers;
     }
 
+    // Тело ответа сервера отдаётся клиенту как есть, без разбора в дерево объектов и повторной сериализации.
+    // Заголовки соединения и длина не копируются: их выставляет сам шлюз.
+    static ResponseEntity<Object> passthroughResponse(ResponseEntity<byte[]> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(filterHeaders(response.getHeaders()))
+                .body(response.getBody());
+    }
+
+    private static HttpHeaders filterHeaders(HttpHeaders source) {
+        HttpHeaders headers = new HttpHeaders();
+        source.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
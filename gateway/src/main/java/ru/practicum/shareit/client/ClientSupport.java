@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+// Общие для всех клиентов шлюза пул соединений, кэш ответов, объединение запросов, защита от перегрузки
+// и режимы работы
+@Component
+public class ClientSupport {
+    private final HttpComponentsClientHttpRequestFactory requestFactory;
+    private final ResponseCache cache;
+    private final SingleFlight singleFlight;
+    private final ResourceGuards guards;
+    private final boolean passthrough;
+
+    @Autowired
+    public ClientSupport(HttpComponentsClientHttpRequestFactory requestFactory, ResponseCache cache,
+                         SingleFlight singleFlight, ResourceGuards guards,
+                         @Value("${shareit.gateway.passthrough:true}") boolean passthrough) {
+        this.requestFactory = requestFactory;
+        this.cache = cache;
+        this.singleFlight = singleFlight;
+        this.guards = guards;
+        this.passthrough = passthrough;
+    }
+
+    public HttpComponentsClientHttpRequestFactory getRequestFactory() {
+        return requestFactory;
+    }
+
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    public ResourceGuards getGuards() {
+        return guards;
+    }
+
+    public boolean isPassthrough() {
+        return passthrough;
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Общий пул соединений шлюза с сервером для всех клиентов вместо отдельного пула на каждый RestTemplate
+@Configuration
+public class HttpClientConfig {
+    @Bean
+    public PoolingHttpClientConnectionManager connectionManager(
+            @Value("${shareit.gateway.http.max-total:200}") int maxTotal,
+            @Value("${shareit.gateway.http.max-per-route:200}") int maxPerRoute,
+            @Value("${shareit.gateway.http.validate-after-inactivity:2s}") Duration validateAfterInactivity,
+            MeterRegistry meterRegistry) {
+        Counter leased = meterRegistry.counter("shareit.gateway.http.connections", "event", "leased");
+        Counter created = meterRegistry.counter("shareit.gateway.http.connections", "event", "created");
+        // Доля повторно использованных соединений: 1 - created / leased
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager() {
+            @Override
+            public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+                leased.increment();
+                return super.requestConnection(route, state);
+            }
+
+            @Override
+            public void connect(HttpClientConnection connection, HttpRoute route, int connectTimeout,
+                                HttpContext context) throws IOException {
+                created.increment();
+                super.connect(connection, route, connectTimeout, context);
+            }
+        };
+        manager.setMaxTotal(maxTotal);
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+        manager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        new PoolingHttpClientConnectionManagerMetricsBinder(manager, "shareit-server").bindTo(meterRegistry);
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit.gateway.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit.gateway.http.read-timeout:30s}") Duration readTimeout,
+            @Value("${shareit.gateway.http.pool-timeout:1s}") Duration poolTimeout,
+            @Value("${shareit.gateway.http.keep-alive:30s}") Duration keepAlive) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) poolTimeout.toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                // Если сервер не прислал Keep-Alive, соединение держится в пуле не дольше keepAlive
+                .setKeepAliveStrategy((response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return duration > 0 ? duration : keepAlive.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory requestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+}
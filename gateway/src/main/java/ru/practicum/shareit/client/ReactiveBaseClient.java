@@ -0,0 +1,163 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriTemplateHandler;
+import reactor.core.publisher.Mono;
+
+// Клиент реактивного режима шлюза (shareit.gateway.reactive=true): те же кэш, объединение запросов
+// и защита от перегрузки, что у BaseClient, но запрос к серверу не занимает поток до получения ответа
+public class ReactiveBaseClient {
+    private final WebClient web;
+    private final UriTemplateHandler uris;
+    private final ResponseCache cache;
+    private final SingleFlight singleFlight;
+    @Nullable
+    private final ResourceGuard guard;
+    private final boolean passthrough;
+    private final String family;
+    private final String[] invalidates;
+
+    public ReactiveBaseClient(WebClientFactory webClients, ClientSupport support, String baseUrl, String family,
+                              String... invalidates) {
+        this.web = webClients.create(baseUrl);
+        this.uris = new DefaultUriBuilderFactory(baseUrl);
+        this.cache = support.getCache();
+        this.singleFlight = support.getSingleFlight();
+        this.guard = support.getGuards().get(family);
+        this.passthrough = support.isPassthrough();
+        this.family = family;
+        this.invalidates = invalidates;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return singleFlight.executeReactive(family, requestKey(path, userId, parameters),
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null));
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(String path, long userId) {
+        return getCached(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (!cache.isEnabled()) {
+            return get(path, userId, parameters);
+        }
+        String key = requestKey(path, userId, parameters);
+        ResponseEntity<Object> cached = cache.get(family, key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long generation = cache.generation(family);
+        return get(path, userId, parameters).doOnNext(response -> {
+            if (response.getStatusCode().is2xxSuccessful()) {
+                cache.put(family, generation, key, response);
+            }
+        });
+    }
+
+    private String requestKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return userId + " " + (parameters != null ? uris.expand(path, parameters) : uris.expand(path));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        Mono<ResponseEntity<Object>> response = guarded(() -> sendRequest(method, path, userId, parameters, body));
+        if (method == HttpMethod.GET) {
+            return response;
+        }
+        return response.doFinally(signal -> {
+            cache.invalidate(invalidates);
+            singleFlight.invalidate(invalidates);
+        });
+    }
+
+    private Mono<ResponseEntity<Object>> guarded(Supplier<Mono<ResponseEntity<Object>>> call) {
+        if (guard == null) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            guard.acquire();
+            long started = System.nanoTime();
+            AtomicBoolean released = new AtomicBoolean();
+            Consumer<Boolean> release = failed -> {
+                if (released.compareAndSet(false, true)) {
+                    guard.release(System.nanoTime() - started, failed);
+                }
+            };
+            return call.get()
+                    .doOnNext(response -> release.accept(BaseClient.isUnavailable(response.getStatusCode())))
+                    .doOnError(e -> release.accept(true))
+                    .doOnCancel(() -> release.accept(false));
+        });
+    }
+
+    private <T> Mono<ResponseEntity<Object>> sendRequest(HttpMethod method, String path, Long userId,
+                                                         @Nullable Map<String, Object> parameters,
+                                                         @Nullable T body) {
+        WebClient.RequestBodySpec request = web.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(BaseClient.defaultHeaders(userId)));
+        return (body != null ? request.bodyValue(body) : request)
+                .exchangeToMono(response -> {
+                    if (passthrough) {
+                        return response.toEntity(byte[].class).map(BaseClient::passthroughResponse);
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.toEntity(Object.class);
+                    }
+                    return response.bodyToMono(byte[].class)
+                            .map(bytes -> ResponseEntity.status(response.statusCode()).<Object>body(bytes))
+                            .defaultIfEmpty(ResponseEntity.status(response.statusCode()).build());
+                });
+    }
+}
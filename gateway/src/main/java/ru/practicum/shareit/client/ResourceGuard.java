@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+// Защита одного семейства ресурсов (items, bookings, ...) от перегрузки сервера:
+// - bulkhead: одновременных запросов семейства не больше текущего лимита, лишние сразу получают 503;
+// - адаптивный лимит AIMD: +1 за успешный запрос при загруженном лимите, x0.9 за медленный или неудачный;
+// - circuit breaker: при доле неудач в окне последних вызовов выше порога запросы отклоняются
+//   на время openDuration, затем несколько пробных запросов решают, закрыть ли его снова.
+public class ResourceGuard {
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String family;
+    private final ResourceGuards settings;
+    private final boolean[] window;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+    private double limit;
+    private int inFlight;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenCalls;
+    private long rejected;
+
+    ResourceGuard(String family, ResourceGuards settings) {
+        this.family = family;
+        this.settings = settings;
+        this.window = new boolean[settings.getWindow()];
+        this.limit = settings.getInitialConcurrency();
+    }
+
+    public synchronized void acquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < settings.getOpenDuration().toNanos()) {
+                reject("Сервер недоступен для запросов к " + family + ", повторите запрос позже");
+            }
+            state = State.HALF_OPEN;
+            halfOpenCalls = 0;
+        }
+        if (state == State.HALF_OPEN && halfOpenCalls >= settings.getHalfOpenCalls()) {
+            reject("Сервер недоступен для запросов к " + family + ", повторите запрос позже");
+        }
+        if (inFlight >= (int) limit) {
+            reject("Сервер перегружен запросами к " + family + ", повторите запрос позже");
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenCalls++;
+        }
+        inFlight++;
+    }
+
+    // failed - ошибка транспорта или 502/503/504; ответы 4xx и 500 с ошибкой предметной области
+    // сервер вернул быстро и исправно, поэтому они не считаются отказом
+    public synchronized void release(long latencyNanos, boolean failed) {
+        inFlight--;
+        boolean slow = latencyNanos > settings.getSlowCallThreshold().toNanos();
+        boolean dropped = failed || slow;
+
+        if (dropped) {
+            limit = Math.max(settings.getMinConcurrency(), limit * BACKOFF_RATIO);
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(settings.getMaxConcurrency(), limit + 1);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (dropped) {
+                open();
+            } else if (halfOpenCalls >= settings.getHalfOpenCalls() && inFlight == 0) {
+                state = State.CLOSED;
+                resetWindow();
+            }
+            return;
+        }
+        record(dropped);
+        if (state == State.CLOSED && windowCalls >= settings.getMinimumCalls()
+                && windowFailures * 100 >= settings.getFailureRateThreshold() * windowCalls) {
+            open();
+        }
+    }
+
+    private void reject(String message) {
+        rejected++;
+        throw new ServiceUnavailableException(message);
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowPosition]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowPosition] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowPosition = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+}
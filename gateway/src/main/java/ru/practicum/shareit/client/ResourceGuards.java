@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Настройки и реестр ResourceGuard: у каждого семейства ресурсов свой лимит и свой circuit breaker
+@Component
+public class ResourceGuards {
+    private final boolean enabled;
+    private final int minConcurrency;
+    private final int initialConcurrency;
+    private final int maxConcurrency;
+    private final Duration slowCallThreshold;
+    private final int window;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ResourceGuard> guards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResourceGuards(@Value("${shareit.gateway.guard.enabled:true}") boolean enabled,
+                          @Value("${shareit.gateway.guard.min-concurrency:4}") int minConcurrency,
+                          @Value("${shareit.gateway.guard.initial-concurrency:20}") int initialConcurrency,
+                          @Value("${shareit.gateway.guard.max-concurrency:100}") int maxConcurrency,
+                          @Value("${shareit.gateway.guard.slow-call-threshold:2s}") Duration slowCallThreshold,
+                          @Value("${shareit.gateway.guard.window:50}") int window,
+                          @Value("${shareit.gateway.guard.minimum-calls:20}") int minimumCalls,
+                          @Value("${shareit.gateway.guard.failure-rate-threshold:50}") int failureRateThreshold,
+                          @Value("${shareit.gateway.guard.open-duration:10s}") Duration openDuration,
+                          @Value("${shareit.gateway.guard.half-open-calls:5}") int halfOpenCalls,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minConcurrency = minConcurrency;
+        this.initialConcurrency = initialConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.slowCallThreshold = slowCallThreshold;
+        this.window = window;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Nullable
+    public ResourceGuard get(String family) {
+        if (!enabled) {
+            return null;
+        }
+        return guards.computeIfAbsent(family, this::create);
+    }
+
+    private ResourceGuard create(String family) {
+        ResourceGuard guard = new ResourceGuard(family, this);
+        Gauge.builder("shareit.gateway.guard.limit", guard, ResourceGuard::getLimit)
+                .tag("family", family)
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.guard.in-flight", guard, ResourceGuard::getInFlight)
+                .tag("family", family)
+                .register(meterRegistry);
+        // 0 - закрыт, 1 - открыт, 2 - пробные запросы
+        Gauge.builder("shareit.gateway.guard.state", guard, g -> g.getState().ordinal())
+                .tag("family", family)
+                .register(meterRegistry);
+        FunctionCounter.builder("shareit.gateway.guard.rejected", guard, ResourceGuard::getRejected)
+                .tag("family", family)
+                .register(meterRegistry);
+        return guard;
+    }
+
+    int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    int getInitialConcurrency() {
+        return initialConcurrency;
+    }
+
+    int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    Duration getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    int getWindow() {
+        return window;
+    }
+
+    int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Кэш ответов сервера на GET-запросы шлюза. Записи группируются по семействам ресурсов (items, requests, ...):
+// изменяющий запрос сбрасывает семейство целиком, а поколение семейства не даёт сохранить ответ,
+// полученный до сброса.
+@Component
+public class ResponseCache {
+    private static final String NAME = "gateway-responses";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public ResponseCache(@Value("${shareit.gateway.cache.enabled:true}") boolean enabled,
+                         @Value("${shareit.gateway.cache.size:10000}") int maxSize,
+                         @Value("${shareit.gateway.cache.ttl:10s}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = meterRegistry.counter("cache.gets", "cache", NAME, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", NAME, "result", "miss");
+        this.evictions = meterRegistry.counter("cache.evictions", "cache", NAME);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        meterRegistry.gauge("cache.size", Tags.of("cache", NAME), this,
+                ResponseCache::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long generation(String family) {
+        return generations.computeIfAbsent(family, f -> new AtomicLong()).get();
+    }
+
+    public synchronized ResponseEntity<Object> get(String family, String key) {
+        Entry entry = entries.get(family + " " + key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt > 0) {
+            entries.remove(family + " " + key);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response;
+    }
+
+    public synchronized void put(String family, long generation, String key, ResponseEntity<Object> response) {
+        if (generation(family) == generation) {
+            entries.put(family + " " + key, new Entry(response, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public synchronized void invalidate(String... families) {
+        for (String family : families) {
+            generations.computeIfAbsent(family, f -> new AtomicLong()).incrementAndGet();
+            String prefix = family + " ";
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+        private final ResponseEntity<Object> response;
+        private final long expiresAt;
+
+        private Entry(ResponseEntity<Object> response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
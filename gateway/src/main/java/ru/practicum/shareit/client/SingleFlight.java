@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Одинаковые GET-запросы, пришедшие пока первый из них ещё выполняется, не уходят на сервер повторно:
+// все ожидающие получают ответ первого запроса. После изменяющего запроса новые GET семейства
+// к уже летящим запросам не присоединяются, чтобы не получить ответ, прочитанный до изменения.
+@Component
+public class SingleFlight {
+    private static final String METRIC = "shareit.gateway.requests.coalesced";
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SingleFlight(@Value("${shareit.gateway.single-flight.enabled:true}") boolean enabled,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("shareit.gateway.requests.in-flight", Tags.empty(), inFlight);
+    }
+
+    public ResponseEntity<Object> execute(String family, String key, Supplier<ResponseEntity<Object>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        String flightKey = family + " " + key;
+        CompletableFuture<ResponseEntity<Object>> leader = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(flightKey, leader);
+        if (existing != null) {
+            meterRegistry.counter(METRIC, "family", family).increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            ResponseEntity<Object> response = call.get();
+            leader.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, leader);
+        }
+    }
+
+    public Mono<ResponseEntity<Object>> executeReactive(String family, String key,
+                                                        Supplier<Mono<ResponseEntity<Object>>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        String flightKey = family + " " + key;
+        CompletableFuture<ResponseEntity<Object>> leader = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(flightKey, leader);
+        if (existing != null) {
+            meterRegistry.counter(METRIC, "family", family).increment();
+            return Mono.fromFuture(existing);
+        }
+        Mono<ResponseEntity<Object>> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(flightKey, leader);
+            leader.completeExceptionally(e);
+            throw e;
+        }
+        // Запрос к серверу доводится до конца, даже если инициатор отключился: его ответ ждут остальные
+        response.doFinally(signal -> inFlight.remove(flightKey, leader))
+                .subscribe(leader::complete, leader::completeExceptionally);
+        return Mono.fromFuture(leader);
+    }
+
+    public void invalidate(String... families) {
+        for (String family : families) {
+            String prefix = family + " ";
+            inFlight.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+}
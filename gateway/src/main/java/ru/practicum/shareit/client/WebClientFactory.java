@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Реактивный режим шлюза (shareit.gateway.reactive=true): запросы к серверу уходят через WebClient
+// на event loop reactor-netty, а сервлетный поток освобождается до получения ответа.
+@Component
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "true")
+public class WebClientFactory {
+    private final ObjectProvider<WebClient.Builder> builders;
+    private final ConnectionProvider connectionProvider;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public WebClientFactory(@Value("${shareit.gateway.http.max-total:200}") int maxConnections,
+                            @Value("${shareit.gateway.http.connect-timeout:2s}") Duration connectTimeout,
+                            @Value("${shareit.gateway.http.read-timeout:30s}") Duration readTimeout,
+                            @Value("${shareit.gateway.http.pool-timeout:1s}") Duration poolTimeout,
+                            @Value("${shareit.gateway.http.keep-alive:30s}") Duration keepAlive,
+                            ObjectProvider<WebClient.Builder> builders) {
+        this.builders = builders;
+        this.connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(poolTimeout)
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(keepAlive)
+                .metrics(true)
+                .build();
+        this.httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .doOnConnected(connection -> connection.addHandlerLast(
+                        new ReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+    }
+
+    public WebClient create(String baseUrl) {
+        return builders.getObject()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(baseUrl))
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ClientSupport;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.WebClientFactory;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "true")
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClientFactory webClients,
+                              ClientSupport support) {
+        super(webClients, support, serverUrl + API_PREFIX, "items", "items", "requests");
+    }
+
+    public Mono<ResponseEntity<Object>> getItems(long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemsAfter(long userId, Long afterId, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
+                "size", size
+        );
+        return get("?afterId={afterId}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItem(Long itemId, long userId) {
+        return getCached("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> createItem(long userId, ItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(ItemRequestDto requestDto, Long itemId, long userId) {
+        return patch("/" + itemId, userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteItem(Long itemId) {
+        return delete("/" + itemId);
+    }
+
+    public Mono<ResponseEntity<Object>> searchItem(String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return getCached("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchFreeItem(String text, LocalDateTime start, LocalDateTime end,
+                                                 Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return get("/search/free?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(Long itemId, long userId, CommentRequestDto requestDto) {
+        return post("/" + itemId + "/comment", userId, requestDto);
+    }
+}
\ No newline at end of file
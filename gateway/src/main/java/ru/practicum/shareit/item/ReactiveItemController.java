@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+
+import static ru.practicum.shareit.validation.ValidationGroups.Create;
+import static ru.practicum.shareit.validation.ValidationGroups.Update;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+@Slf4j
+@Controller
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "true")
+@RequestMapping("/items")
+@Validated
+@RequiredArgsConstructor
+public class ReactiveItemController {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private final ReactiveItemClient itemClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(USER_ID) Long userId,
+                                             @RequestBody @Validated(Create.class) ItemRequestDto requestDto) {
+        log.info("Получен POST-запрос к эндпоинту: '/items' на создание вещи");
+        return itemClient.createItem(userId, requestDto);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Object>> updateItem(@RequestBody @Validated(Update.class) ItemRequestDto requestDto,
+                                             @PathVariable Long id,
+                                             @RequestHeader(USER_ID) Long userId) {
+        log.info("Получен PATCH-запрос к эндпоинту: '/items' на обновление вещи с ID={}", id);
+        return itemClient.updateItem(requestDto, id, userId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getItem(@PathVariable Long id,
+                                          @RequestHeader(USER_ID) Long userId) {
+        log.info("Получен GET-запрос к эндпоинту: '/items' на получение вещи с ID={}", id);
+        return itemClient.getItem(id, userId);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Object>> deleteItem(@PathVariable Long id) {
+        log.info("Получен DELETE-запрос к эндпоинту: '/items' на удаление вещи с ID={}", id);
+        return itemClient.deleteItem(id);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> searchItem(@RequestParam String text,
+                                             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Получен GET-запрос к эндпоинту: '/items/search' на поиск вещи с текстом={}", text);
+        if (text.isBlank()) {
+            return Mono.just(ResponseEntity.ok(new ArrayList<>()));
+        }
+        return itemClient.searchItem(text, from, size);
+    }
+
+    @GetMapping("/search/free")
+    public Mono<ResponseEntity<Object>> searchFreeItem(@RequestParam String text,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime start,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime end,
+                                                 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                 Integer from,
+                                                 @Positive @RequestParam(name = "size", defaultValue = "10")
+                                                 Integer size) {
+        log.info("Получен GET-запрос к эндпоинту: '/items/search/free' на поиск свободных с {} по {} вещей " +
+                "с текстом={}", start, end, text);
+        if (!end.isAfter(start)) {
+            throw new ValidationException("Время окончания периода должно быть позже времени начала!");
+        }
+        if (text.isBlank()) {
+            return Mono.just(ResponseEntity.ok(new ArrayList<>()));
+        }
+        return itemClient.searchFreeItem(text, start, end, from, size);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getItems(@RequestHeader(USER_ID) Long userId,
+                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                           @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                           @PositiveOrZero @RequestParam(name = "afterId", required = false)
+                                           Long afterId) {
+        log.info("Получен GET-запрос к эндпоинту: '/items' на получение всех вещей владельца с ID={}", userId);
+        if (afterId != null) {
+            return itemClient.getItemsAfter(userId, afterId, size);
+        }
+        return itemClient.getItems(userId, from, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> createComment(@PathVariable Long itemId, @RequestHeader(USER_ID) Long userId,
+                                                @Valid @RequestBody CommentRequestDto requestDto) {
+        log.info("Получен POST-запрос к эндпоинту: '/items/comment' на добавление отзыва пользователем с ID={}", userId);
+        return itemClient.createComment(itemId, userId, requestDto);
+    }
+
+}
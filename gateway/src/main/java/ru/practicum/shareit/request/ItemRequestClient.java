@@ -1,25 +1,29 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientSupport;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
 import java.util.Map;
 
 @Service
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "false", matchIfMissing = true)
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientSupport support) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(support::getRequestFactory)
+                        .build(),
+                support, "requests", "requests"
         );
     }
 
@@ -27,7 +31,7 @@ public class ItemRequestClient extends BaseClient {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return getCached("/all?from={from}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> createItemRequest(long userId, ItemRequestRequestDto requestDto) {
@@ -35,10 +39,10 @@ public class ItemRequestClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getItemRequestsByUser(long userId) {
-        return get("", userId);
+        return getCached("", userId);
     }
 
     public ResponseEntity<Object> getItemRequest(Long requestId, long userId) {
-        return get("/" + requestId, userId);
+        return getCached("/" + requestId, userId);
     }
 }
\ No newline at end of file
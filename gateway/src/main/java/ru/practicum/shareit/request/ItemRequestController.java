@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -14,6 +15,7 @@ import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
 @Controller
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 @RequestMapping("/requests")
@@ -24,7 +26,7 @@ public class ItemRequestController {
 
     @PostMapping
     public ResponseEntity<Object> createItemRequest(@RequestHeader(USER_ID) Long userId,
-                                                    @Valid @RequestBody ItemRequestRequestDto requestDto) {
+                                              @Valid @RequestBody ItemRequestRequestDto requestDto) {
         log.info("Получен POST-запрос к эндпоинту: '/requests' на создание запроса вещи пользователем с ID={}", userId);
         return itemRequestClient.createItemRequest(userId, requestDto);
     }
@@ -37,15 +39,15 @@ public class ItemRequestController {
 
     @GetMapping("/all")
     public ResponseEntity<Object> getAllItemRequests(@RequestHeader(USER_ID) long userId,
-                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                               @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Получен GET-запрос к эндпоинту: '/requests/all' на получение списка всех запросов на вещи");
         return itemRequestClient.getAll(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getItemRequest(@PathVariable Long requestId,
-                                                 @RequestHeader(USER_ID) Long userId) {
+                                           @RequestHeader(USER_ID) Long userId) {
         log.info("Получен GET-запрос к эндпоинту: '/requests' на получение запроса вещи с ID={}", requestId);
         return itemRequestClient.getItemRequest(requestId, userId);
     }
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ClientSupport;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.WebClientFactory;
+import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "true")
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClientFactory webClients,
+                                     ClientSupport support) {
+        super(webClients, support, serverUrl + API_PREFIX, "requests", "requests");
+    }
+
+    public Mono<ResponseEntity<Object>> getAll(long userId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size);
+        return getCached("/all?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createItemRequest(long userId, ItemRequestRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequestsByUser(long userId) {
+        return getCached("", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequest(Long requestId, long userId) {
+        return getCached("/" + requestId, userId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.request;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Controller;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@Controller
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@RequestMapping("/requests")
+@Validated
+public class ReactiveItemRequestController {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader(USER_ID) Long userId,
+                                                    @Valid @RequestBody ItemRequestRequestDto requestDto) {
+        log.info("Получен POST-запрос к эндпоинту: '/requests' на создание запроса вещи пользователем с ID={}", userId);
+        return itemRequestClient.createItemRequest(userId, requestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getItemRequestsByUser(@RequestHeader(USER_ID) Long userId) {
+        log.info("Получен GET-запрос к эндпоинту: '/requests' на получение списка собственных запросов пользователя с ID={}", userId);
+        return itemRequestClient.getItemRequestsByUser(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> getAllItemRequests(@RequestHeader(USER_ID) long userId,
+                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Получен GET-запрос к эндпоинту: '/requests/all' на получение списка всех запросов на вещи");
+        return itemRequestClient.getAll(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> getItemRequest(@PathVariable Long requestId,
+                                                 @RequestHeader(USER_ID) Long userId) {
+        log.info("Получен GET-запрос к эндпоинту: '/requests' на получение запроса вещи с ID={}", requestId);
+        return itemRequestClient.getItemRequest(requestId, userId);
+    }
+}
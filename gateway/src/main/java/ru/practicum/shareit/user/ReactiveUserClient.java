@@ -0,0 +1,55 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ClientSupport;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.WebClientFactory;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "true")
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClientFactory webClients,
+                              ClientSupport support) {
+        super(webClients, support, serverUrl + API_PREFIX, "users", "items", "requests");
+    }
+
+    // Без потоковой передачи: ответ сервера целиком приходит в буфер WebClient и отдаётся как есть
+    public Mono<ResponseEntity<Object>> getUsers() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Object>> getUsers(Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(Long userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Object>> createUser(UserRequestDto requestDto) {
+        return post("", requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserRequestDto requestDto) {
+        return patch("/" + userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
+        return delete("/" + userId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+import static ru.practicum.shareit.validation.ValidationGroups.Create;
+import static ru.practicum.shareit.validation.ValidationGroups.Update;
+
+@Controller
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "true")
+@RequestMapping("/users")
+@Slf4j
+@Validated
+@RequiredArgsConstructor
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Validated(Create.class) UserRequestDto requestDto) {
+        log.info("Получен POST-запрос к эндпоинту: '/users' на создание пользователя");
+        return userClient.createUser(requestDto);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Object>> updateUser(@RequestBody @Validated(Update.class) UserRequestDto requestDto,
+                                             @PathVariable Long id) {
+        log.info("Получен PATCH-запрос к эндпоинту: '/users' на обновление пользователя с ID={}", id);
+        return userClient.updateUser(id, requestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getUsers() {
+        log.info("Получен GET-запрос к эндпоинту: '/users' на получение всех пользователей");
+        return userClient.getUsers();
+    }
+
+    @GetMapping(params = "size")
+    public Mono<ResponseEntity<Object>> getUsers(@PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                                 Integer from,
+                                                 @Positive @RequestParam(name = "size") Integer size) {
+        log.info("Получен GET-запрос к эндпоинту: '/users' на получение страницы пользователей from={}, size={}",
+                from, size);
+        return userClient.getUsers(from, size);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable Long id) {
+        log.info("Получен GET-запрос к эндпоинту: '/users/{id}' на получение пользователя с ID={}", id);
+        return userClient.getUser(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long id) {
+        log.info("Получен DELETE-запрос к эндпоинту: '/users/{id}' на удаление пользователя с ID={}", id);
+        return userClient.deleteUser(id);
+    }
+
+}
@@ -3,16 +3,22 @@ package ru.practicum.shareit.user;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
 import static ru.practicum.shareit.validation.ValidationGroups.Create;
 import static ru.practicum.shareit.validation.ValidationGroups.Update;
 
 @Controller
+@ConditionalOnProperty(name = "shareit.gateway.reactive", havingValue = "false", matchIfMissing = true)
 @RequestMapping("/users")
 @Slf4j
 @Validated
@@ -28,17 +34,26 @@ public class UserController {
 
     @PatchMapping("/{id}")
     public ResponseEntity<Object> updateUser(@RequestBody @Validated(Update.class) UserRequestDto requestDto,
-                                             @PathVariable Long id) {
+                                       @PathVariable Long id) {
         log.info("Получен PATCH-запрос к эндпоинту: '/users' на обновление пользователя с ID={}", id);
         return userClient.updateUser(id, requestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public ResponseEntity<StreamingResponseBody> getUsers() {
         log.info("Получен GET-запрос к эндпоинту: '/users' на получение всех пользователей");
         return userClient.getUsers();
     }
 
+    @GetMapping(params = "size")
+    public ResponseEntity<Object> getUsers(@PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+                                           Integer from,
+                                           @Positive @RequestParam(name = "size") Integer size) {
+        log.info("Получен GET-запрос к эндпоинту: '/users' на получение страницы пользователей from={}, size={}",
+                from, size);
+        return userClient.getUsers(from, size);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getUser(@PathVariable Long id) {
         log.info("Получен GET-запрос к эндпоинту: '/users/{id}' на получение пользователя с ID={}", id);
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceGuardTest {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ResourceGuards guards = new ResourceGuards(true, 2, 10, 12, Duration.ofMillis(100), 10, 4, 50,
+            Duration.ofMillis(50), 2, meterRegistry);
+
+    private final ResourceGuard guard = guards.get("items");
+
+    @Test
+    void release_whenFailuresAboveThreshold_thenBreakerOpened() {
+        call(true);
+        call(false);
+        call(true);
+        assertEquals(ResourceGuard.State.CLOSED, guard.getState());
+
+        call(true);
+
+        assertEquals(ResourceGuard.State.OPEN, guard.getState());
+        assertThrows(ServiceUnavailableException.class, guard::acquire);
+        assertEquals(1, guard.getRejected());
+    }
+
+    @Test
+    void acquire_whenOpenDurationPassed_thenHalfOpenAndClosedAfterProbes() throws InterruptedException {
+        openBreaker();
+
+        Thread.sleep(100);
+        guard.acquire();
+        assertEquals(ResourceGuard.State.HALF_OPEN, guard.getState());
+        guard.acquire();
+        assertThrows(ServiceUnavailableException.class, guard::acquire);
+        guard.release(FAST, false);
+        guard.release(FAST, false);
+
+        assertEquals(ResourceGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void release_whenHalfOpenProbeFails_thenBreakerOpenedAgain() throws InterruptedException {
+        openBreaker();
+
+        Thread.sleep(100);
+        guard.acquire();
+        guard.release(FAST, true);
+
+        assertEquals(ResourceGuard.State.OPEN, guard.getState());
+        assertThrows(ServiceUnavailableException.class, guard::acquire);
+    }
+
+    @Test
+    void release_whenCallSlow_thenLimitDecreased() {
+        guard.acquire();
+        guard.release(SLOW, false);
+        assertEquals(9.0, guard.getLimit(), 1e-9);
+
+        guard.acquire();
+        guard.release(SLOW, false);
+
+        assertEquals(8.1, guard.getLimit(), 1e-9);
+        assertEquals(ResourceGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void release_whenManyCallsSlow_thenLimitNotBelowMinimum() {
+        ResourceGuard patient = new ResourceGuards(true, 2, 10, 12, Duration.ofMillis(100), 100, 100, 50,
+                Duration.ofMillis(50), 2, meterRegistry).get("items");
+
+        for (int i = 0; i < 30; i++) {
+            patient.acquire();
+            patient.release(SLOW, false);
+        }
+
+        assertEquals(2.0, patient.getLimit(), 1e-9);
+    }
+
+    @Test
+    void release_whenLimitBusyAndCallFast_thenLimitIncreased() {
+        for (int i = 0; i < 6; i++) {
+            guard.acquire();
+        }
+
+        guard.release(FAST, false);
+        assertEquals(11.0, guard.getLimit(), 1e-9);
+        guard.release(FAST, false);
+
+        assertEquals(11.0, guard.getLimit(), 1e-9);
+        assertEquals(4, guard.getInFlight());
+    }
+
+    @Test
+    void release_whenLimitAtMaximum_thenNotIncreased() {
+        for (int i = 0; i < 10; i++) {
+            guard.acquire();
+        }
+        guard.release(FAST, false);
+        guard.acquire();
+        guard.acquire();
+        guard.release(FAST, false);
+
+        assertEquals(12.0, guard.getLimit(), 1e-9);
+        guard.release(FAST, false);
+        assertEquals(12.0, guard.getLimit(), 1e-9);
+    }
+
+    @Test
+    void acquire_whenLimitReached_thenRejected() {
+        for (int i = 0; i < 10; i++) {
+            guard.acquire();
+        }
+
+        assertThrows(ServiceUnavailableException.class, guard::acquire);
+        assertEquals(10, guard.getInFlight());
+        assertEquals(1, guard.getRejected());
+    }
+
+    @Test
+    void get_thenGuardPerFamily() {
+        assertSame(guard, guards.get("items"));
+        assertNotSame(guard, guards.get("bookings"));
+        assertNull(new ResourceGuards(false, 2, 10, 12, Duration.ofMillis(100), 10, 4, 50,
+                Duration.ofMillis(50), 2, meterRegistry).get("items"));
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertEquals(ResourceGuard.State.OPEN, guard.getState());
+    }
+
+    private void call(boolean failed) {
+        guard.acquire();
+        guard.release(FAST, failed);
+    }
+}
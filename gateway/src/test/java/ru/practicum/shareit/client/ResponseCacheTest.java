@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ResponseEntity<Object> first = ResponseEntity.ok("first");
+
+    private final ResponseEntity<Object> second = ResponseEntity.ok("second");
+
+    @Test
+    void get_whenPut_thenCachedResponseReturned() {
+        ResponseCache cache = new ResponseCache(true, 10, Duration.ofMinutes(1), meterRegistry);
+
+        cache.put("items", cache.generation("items"), "/1", first);
+
+        assertSame(first, cache.get("items", "/1"));
+        assertNull(cache.get("items", "/2"));
+        assertNull(cache.get("bookings", "/1"));
+        assertEquals(1, meterRegistry.counter("cache.gets", "cache", "gateway-responses", "result", "hit").count());
+    }
+
+    @Test
+    void put_whenFamilyInvalidatedDuringLoad_thenResponseNotStored() {
+        ResponseCache cache = new ResponseCache(true, 10, Duration.ofMinutes(1), meterRegistry);
+        long generation = cache.generation("items");
+
+        cache.invalidate("items");
+        cache.put("items", generation, "/1", first);
+
+        assertNull(cache.get("items", "/1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidate_thenOnlyListedFamiliesDropped() {
+        ResponseCache cache = new ResponseCache(true, 10, Duration.ofMinutes(1), meterRegistry);
+        cache.put("items", cache.generation("items"), "/1", first);
+        cache.put("bookings", cache.generation("bookings"), "/1", second);
+
+        cache.invalidate("items");
+
+        assertNull(cache.get("items", "/1"));
+        assertSame(second, cache.get("bookings", "/1"));
+    }
+
+    @Test
+    void get_whenTtlExpired_thenEntryEvicted() throws InterruptedException {
+        ResponseCache cache = new ResponseCache(true, 10, Duration.ofMillis(20), meterRegistry);
+        cache.put("items", cache.generation("items"), "/1", first);
+
+        Thread.sleep(50);
+
+        assertNull(cache.get("items", "/1"));
+        assertEquals(0, cache.size());
+        assertEquals(1, meterRegistry.counter("cache.evictions", "cache", "gateway-responses").count());
+    }
+
+    @Test
+    void put_whenSizeExceeded_thenLeastRecentlyUsedEvicted() {
+        ResponseCache cache = new ResponseCache(true, 2, Duration.ofMinutes(1), meterRegistry);
+        long generation = cache.generation("items");
+        cache.put("items", generation, "/1", first);
+        cache.put("items", generation, "/2", second);
+        cache.get("items", "/1");
+
+        cache.put("items", generation, "/3", second);
+
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get("items", "/1"));
+        assertNull(cache.get("items", "/2"));
+        assertNotNull(cache.get("items", "/3"));
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight singleFlight = new SingleFlight(true, meterRegistry);
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+
+    @Test
+    void executeReactive_whenConcurrentCallers_thenOneUpstreamCallShared() throws Exception {
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+
+        List<Future<ResponseEntity<Object>>> results = runCallers();
+        upstream.tryEmitValue(response);
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            assertSame(response, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(CALLERS - 1, meterRegistry.counter("shareit.gateway.requests.coalesced",
+                "family", "items").count());
+    }
+
+    @Test
+    void executeReactive_whenUpstreamFails_thenAllCallersGetItsException() throws Exception {
+        ServiceUnavailableException failure = new ServiceUnavailableException("Сервер недоступен");
+
+        List<Future<ResponseEntity<Object>>> results = runCallers();
+        upstream.tryEmitError(failure);
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void executeReactive_whenFinished_thenNextCallGoesUpstream() {
+        singleFlight.executeReactive("items", "/1", () -> call(Mono.just(ResponseEntity.ok("first")))).block();
+        singleFlight.executeReactive("items", "/1", () -> call(Mono.just(ResponseEntity.ok("second")))).block();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void executeReactive_whenFamilyInvalidated_thenNewCallerNotJoined() {
+        Mono<ResponseEntity<Object>> stale = singleFlight.executeReactive("items", "/1", () -> call(upstream.asMono()));
+
+        singleFlight.invalidate("items");
+        ResponseEntity<Object> fresh = singleFlight.executeReactive("items", "/1",
+                () -> call(Mono.just(ResponseEntity.ok("fresh")))).block();
+
+        assertEquals("fresh", fresh.getBody());
+        assertEquals(2, calls.get());
+        upstream.tryEmitValue(ResponseEntity.ok("stale"));
+        assertEquals("stale", stale.block().getBody());
+    }
+
+    @Test
+    void executeReactive_whenDisabled_thenEveryCallGoesUpstream() {
+        SingleFlight disabled = new SingleFlight(false, meterRegistry);
+
+        disabled.executeReactive("items", "/1", () -> call(upstream.asMono()));
+        disabled.executeReactive("items", "/1", () -> call(upstream.asMono()));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_whenConcurrentCallers_thenOneBlockingCallShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+
+        List<Future<ResponseEntity<Object>>> results = runBlockingCallers(() -> {
+            awaitQuietly(release);
+            return response;
+        });
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            assertSame(response, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_whenBlockingCallFails_thenAllCallersGetItsException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ServiceUnavailableException failure = new ServiceUnavailableException("Сервер недоступен");
+
+        List<Future<ResponseEntity<Object>>> results = runBlockingCallers(() -> {
+            awaitQuietly(release);
+            throw failure;
+        });
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    // Лидер держит запрос, пока остальные не присоединятся к нему
+    private List<Future<ResponseEntity<Object>>> runBlockingCallers(Supplier<ResponseEntity<Object>> upstreamCall)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<ResponseEntity<Object>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("items", "/1", () -> {
+                calls.incrementAndGet();
+                return upstreamCall.get();
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("shareit.gateway.requests.coalesced", "family", "items").count() < CALLERS - 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Все вызывающие подписываются на ответ, пока запрос лидера ещё не завершён
+    private List<Future<ResponseEntity<Object>>> runCallers() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch joined = new CountDownLatch(CALLERS);
+        List<Future<ResponseEntity<Object>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                Mono<ResponseEntity<Object>> response = singleFlight.executeReactive("items", "/1",
+                        () -> call(upstream.asMono()));
+                joined.countDown();
+                return response.block();
+            }));
+        }
+        assertTrue(joined.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        return results;
+    }
+
+    private Mono<ResponseEntity<Object>> call(Mono<ResponseEntity<Object>> response) {
+        calls.incrementAndGet();
+        return response;
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LatencyRecorder {
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long nanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).add(nanos, success);
+    }
+
+    public void print(PrintStream out, Duration elapsed) {
+        out.println(String.format(Locale.ROOT, "%-36s %9s %7s %10s %9s %9s %9s %9s",
+                "endpoint", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (String line : rows(elapsed, "%-36s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f")) {
+            out.println(line);
+        }
+    }
+
+    public static void printComparison(PrintStream out, String baseLabel, LatencyRecorder base, Duration baseElapsed,
+                                       String label, LatencyRecorder other, Duration otherElapsed) {
+        out.println(String.format(Locale.ROOT, "%-36s %12s %12s %8s %12s %12s", "endpoint",
+                baseLabel + " ops/s", label + " ops/s", "gain", baseLabel + " p99", label + " p99"));
+        TreeMap<String, EndpointStats> endpoints = new TreeMap<>(base.endpoints);
+        other.endpoints.forEach(endpoints::putIfAbsent);
+        long baseTotal = 0;
+        long otherTotal = 0;
+        for (String endpoint : endpoints.keySet()) {
+            long[] baseSorted = base.sorted(endpoint);
+            long[] otherSorted = other.sorted(endpoint);
+            baseTotal += baseSorted.length;
+            otherTotal += otherSorted.length;
+            printComparisonRow(out, endpoint, baseSorted.length / seconds(baseElapsed),
+                    otherSorted.length / seconds(otherElapsed), millis(baseSorted, 0.99), millis(otherSorted, 0.99));
+        }
+        printComparisonRow(out, "TOTAL", baseTotal / seconds(baseElapsed), otherTotal / seconds(otherElapsed),
+                Double.NaN, Double.NaN);
+    }
+
+    private static void printComparisonRow(PrintStream out, String endpoint, double baseRate, double otherRate,
+                                           double baseP99, double otherP99) {
+        out.println(String.format(Locale.ROOT, "%-36s %12.1f %12.1f %+7.1f%% %12.2f %12.2f", endpoint,
+                baseRate, otherRate, baseRate == 0 ? 0 : (otherRate / baseRate - 1) * 100, baseP99, otherP99));
+    }
+
+    private long[] sorted(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? new long[0] : stats.sorted();
+    }
+
+    private static double seconds(Duration elapsed) {
+        return elapsed.toMillis() / 1000.0;
+    }
+
+    public void writeCsv(Path path, Duration elapsed) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,count,errors,ops_per_sec,p50_ms,p99_ms,p999_ms,max_ms");
+        lines.addAll(rows(elapsed, "\"%s\",%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f"));
+        Files.write(path, lines, StandardCharsets.UTF_8);
+    }
+
+    private List<String> rows(Duration elapsed, String format) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        List<String> rows = new ArrayList<>();
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            rows.add(String.format(Locale.ROOT, format, entry.getKey(), sorted.length, entry.getValue().errors(),
+                    sorted.length / seconds, millis(sorted, 0.5), millis(sorted, 0.99), millis(sorted, 0.999),
+                    millis(sorted, 1.0)));
+        }
+        return rows;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long nanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package ru.practicum.shareit.load;
+
+import java.io.PrintStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Запуск: java -jar loadtest/target/loadtest.jar [--gateway=http://localhost:8080] [--threads=16] [--duration=60s]
+// [--warmup=10s] [--users=50] [--items=500] [--bookings=1000] [--mix=search:25,item:20,...] [--report=report.csv]
+// [--virtual=true] [--compare=true]
+// Без --gateway сервер (H2) и шлюз запускаются локально из собранных jar-файлов. --compare=true прогоняет сценарий
+// дважды (пул потоков Tomcat и виртуальные потоки) и печатает сравнение.
+public class LoadTestRunner {
+    private static final String DEFAULT_MIX = "search:25,item:20,items:10,bookings:20,owner:10,requests:5,book:10";
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final String[] NAMES = {"Дрель", "Пила", "Молоток", "Отвёртка", "Стремянка", "Лобзик"};
+
+    private final LoadConfig config;
+    private final ShareItApi api;
+    private final LocalDateTime origin = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    private final List<String> operations = new ArrayList<>();
+    private final List<Integer> weights = new ArrayList<>();
+    private long[] users;
+    private long[] items;
+    private long[] owners;
+    private AtomicInteger[] slots;
+    private volatile boolean running = true;
+    private Duration elapsed;
+
+    public LoadTestRunner(LoadConfig config, String gatewayUrl) {
+        this.config = config;
+        this.api = new ShareItApi(gatewayUrl, new LatencyRecorder());
+        int total = 0;
+        for (String entry : config.get("mix", DEFAULT_MIX).split(",")) {
+            String[] parts = entry.split(":");
+            total += Integer.parseInt(parts[1].trim());
+            operations.add(parts[0].trim());
+            weights.add(total);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        if (Boolean.parseBoolean(config.get("compare", "false"))) {
+            compare(config, System.out);
+            return;
+        }
+        try (LocalInstances instances = new LocalInstances()) {
+            String gatewayUrl = config.get("gateway", "");
+            if (gatewayUrl.isEmpty()) {
+                gatewayUrl = instances.start(config);
+            }
+            new LoadTestRunner(config, gatewayUrl).run(System.out);
+        }
+    }
+
+    // Один и тот же сценарий на пуле платформенных потоков Tomcat и на виртуальных потоках
+    private static void compare(LoadConfig config, PrintStream out) throws Exception {
+        LatencyRecorder[] recorders = new LatencyRecorder[2];
+        Duration[] elapsed = new Duration[2];
+        for (int i = 0; i < 2; i++) {
+            boolean virtual = i == 1;
+            out.println(virtual ? "== Виртуальные потоки ==" : "== Пул платформенных потоков ==");
+            try (LocalInstances instances = new LocalInstances()) {
+                LoadTestRunner runner = new LoadTestRunner(config, instances.start(config, virtual));
+                recorders[i] = runner.run(out);
+                elapsed[i] = runner.elapsed;
+            }
+        }
+        out.println("== Сравнение ==");
+        LatencyRecorder.printComparison(out, "platform", recorders[0], elapsed[0],
+                "virtual", recorders[1], elapsed[1]);
+    }
+
+    public LatencyRecorder run(PrintStream out) throws Exception {
+        seed(out);
+
+        int threads = config.getInt("threads", 16);
+        Duration warmup = config.getDuration("warmup", Duration.ofSeconds(10));
+        Duration duration = config.getDuration("duration", Duration.ofSeconds(60));
+        out.printf("Нагрузка: %d потоков, прогрев %s, замер %s%n", threads, warmup, duration);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(this::work);
+        }
+        Thread.sleep(warmup.toMillis());
+        LatencyRecorder recorder = new LatencyRecorder();
+        api.setRecorder(recorder);
+        long started = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        running = false;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        recorder.print(out, elapsed);
+        String report = config.get("report", "");
+        if (!report.isEmpty()) {
+            recorder.writeCsv(Path.of(report), elapsed);
+        }
+        return recorder;
+    }
+
+    private void seed(PrintStream out) {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        users = new long[config.getInt("users", 50)];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = required(api.createUser("load-" + i, "load-" + run + "-" + i + "@mail.ru"), "пользователя");
+        }
+        items = new long[config.getInt("items", 500)];
+        owners = new long[items.length];
+        slots = new AtomicInteger[items.length];
+        for (int i = 0; i < items.length; i++) {
+            owners[i] = users[i % users.length];
+            String name = NAMES[i % NAMES.length];
+            items[i] = required(api.createItem(owners[i], name + " " + i, name + " для нагрузочного теста"), "вещь");
+            slots[i] = new AtomicInteger();
+        }
+        int bookings = config.getInt("bookings", 1000);
+        for (int i = 0; i < bookings; i++) {
+            book(i % items.length, i % 2 == 0);
+        }
+        out.printf("Подготовлено: %d пользователей, %d вещей, %d бронирований%n", users.length, items.length, bookings);
+    }
+
+    private void work() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            int pick = random.nextInt(weights.get(weights.size() - 1));
+            int operation = 0;
+            while (pick >= weights.get(operation)) {
+                operation++;
+            }
+            long user = users[random.nextInt(users.length)];
+            String state = STATES[random.nextInt(STATES.length)];
+            switch (operations.get(operation)) {
+                case "search":
+                    api.search(URLEncoder.encode(NAMES[random.nextInt(NAMES.length)].toLowerCase(),
+                            StandardCharsets.UTF_8));
+                    break;
+                case "item":
+                    api.getItem(user, items[random.nextInt(items.length)]);
+                    break;
+                case "items":
+                    api.getItems(user);
+                    break;
+                case "bookings":
+                    api.getBookings(user, state);
+                    break;
+                case "owner":
+                    api.getBookingsOwner(user, state);
+                    break;
+                case "requests":
+                    api.getAllRequests(user);
+                    break;
+                case "book":
+                    book(random.nextInt(items.length), true);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Неизвестная операция: " + operations.get(operation));
+            }
+        }
+    }
+
+    // Каждое бронирование вещи занимает свой слот, поэтому подтверждения не конфликтуют между собой.
+    private void book(int itemIndex, boolean approve) {
+        long owner = owners[itemIndex];
+        long booker = owner;
+        while (booker == owner) {
+            booker = users[ThreadLocalRandom.current().nextInt(users.length)];
+        }
+        LocalDateTime start = origin.plusHours(3L * slots[itemIndex].getAndIncrement());
+        Long bookingId = api.createBooking(booker, items[itemIndex], start, start.plusHours(2));
+        if (approve && bookingId != null) {
+            api.approveBooking(owner, bookingId);
+        }
+    }
+
+    private static long required(Long id, String what) {
+        if (id == null) {
+            throw new IllegalStateException("Не удалось создать " + what);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Поднимает сервер на H2 (профиль ci) и шлюз как отдельные процессы: у модулей совпадают имена классов,
+// поэтому в одной JVM их не запустить.
+public class LocalInstances implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final List<Process> processes = new ArrayList<>();
+
+    public String start(LoadConfig config) throws IOException, InterruptedException {
+        return start(config, Boolean.parseBoolean(config.get("virtual", "false")));
+    }
+
+    // virtual - запуск обоих процессов с профилем virtual (обработка запросов на виртуальных потоках, JDK 21+)
+    public String start(LoadConfig config, boolean virtual) throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        File logDir = new File(config.get("log-dir", "loadtest/target"));
+        logDir.mkdirs();
+        int serverPort = config.getInt("server-port", 19090);
+        int gatewayPort = config.getInt("gateway-port", 18080);
+
+        launch(new ProcessBuilder(java, "-jar",
+                config.get("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT.jar"),
+                virtual ? "--spring.profiles.active=ci,virtual" : "--spring.profiles.active=ci",
+                "--server.port=" + serverPort,
+                "--shareit.booking.calendar.verify=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"), new File(logDir, "server.log"));
+        awaitUp("http://localhost:" + serverPort, "/actuator/health");
+
+        String gatewayUrl = "http://localhost:" + gatewayPort;
+        launch(new ProcessBuilder(java, "-jar",
+                config.get("gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"),
+                virtual ? "--spring.profiles.active=virtual" : "--spring.profiles.active=default",
+                "--server.port=" + gatewayPort,
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"), new File(logDir, "gateway.log"));
+        awaitUp(gatewayUrl, "/users");
+        return gatewayUrl;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        // Дожидаемся освобождения портов, чтобы следующий прогон мог занять их снова
+        for (Process process : processes) {
+            process.waitFor();
+        }
+        processes.clear();
+    }
+
+    private void launch(ProcessBuilder builder, File log) throws IOException {
+        processes.add(builder.redirectErrorStream(true)
+                .redirectOutput(log)
+                .start());
+    }
+
+    private void awaitUp(String baseUrl, String path) throws InterruptedException {
+        ShareItApi probe = new ShareItApi(baseUrl, new LatencyRecorder());
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (!probe.isUp(path)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Не дождались запуска " + baseUrl + path);
+            }
+            for (Process process : processes) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Процесс завершился при запуске, код " + process.exitValue());
+                }
+            }
+            Thread.sleep(500);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ShareItApi {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private volatile LatencyRecorder recorder;
+
+    public ShareItApi(String baseUrl, LatencyRecorder recorder) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    public void setRecorder(LatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public Long createUser(String name, String email) {
+        return id(send("POST /users", post("/users", null,
+                String.format("{\"name\":\"%s\",\"email\":\"%s\"}", name, email))));
+    }
+
+    public Long createItem(long ownerId, String name, String description) {
+        return id(send("POST /items", post("/items", ownerId,
+                String.format("{\"name\":\"%s\",\"description\":\"%s\",\"available\":true}", name, description))));
+    }
+
+    public Long createBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return id(send("POST /bookings", post("/bookings", bookerId,
+                String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", itemId, start, end))));
+    }
+
+    public void approveBooking(long ownerId, long bookingId) {
+        send("PATCH /bookings/{id}", request("/bookings/" + bookingId + "?approved=true", ownerId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    public void getItem(long userId, long itemId) {
+        send("GET /items/{id}", request("/items/" + itemId, userId).GET().build());
+    }
+
+    public void getItems(long ownerId) {
+        send("GET /items", request("/items?from=0&size=20", ownerId).GET().build());
+    }
+
+    public void search(String text) {
+        send("GET /items/search", request("/items/search?text=" + text + "&from=0&size=20", null).GET().build());
+    }
+
+    public void getBookings(long userId, String state) {
+        send("GET /bookings?state=" + state,
+                request("/bookings?state=" + state + "&from=0&size=20", userId).GET().build());
+    }
+
+    public void getBookingsOwner(long userId, String state) {
+        send("GET /bookings/owner?state=" + state,
+                request("/bookings/owner?state=" + state + "&from=0&size=20", userId).GET().build());
+    }
+
+    public void getAllRequests(long userId) {
+        send("GET /requests/all", request("/requests/all?from=0&size=20", userId).GET().build());
+    }
+
+    public boolean isUp(String path) {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest post(String path, Long userId, String json) {
+        return request(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null) {
+            builder.header(USER_ID, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - started, response.statusCode() / 100 == 2);
+            return response;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - started, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static Long id(HttpResponse<String> response) {
+        if (response == null || response.statusCode() / 100 != 2) {
+            return null;
+        }
+        Matcher matcher = ID.matcher(response.body());
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -5,57 +5,65 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.item.ItemService;
-import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.context.EntityResolver;
+import ru.practicum.shareit.item.ItemOwnerCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 
 @Service
 @Slf4j
 public class CheckService {
-    private final UserService userService;
-    private final ItemService itemService;
+    private final EntityResolver entityResolver;
 
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemOwnerCache itemOwnerCache;
 
     @Autowired
-    public CheckService(UserService userService, ItemService itemService, UserRepository userRepository,
-                        ItemRepository itemRepository) {
-        this.userService = userService;
-        this.itemService = itemService;
-        this.userRepository = userRepository;
+    public CheckService(EntityResolver entityResolver, ItemRepository itemRepository, ItemOwnerCache itemOwnerCache) {
+        this.entityResolver = entityResolver;
         this.itemRepository = itemRepository;
+        this.itemOwnerCache = itemOwnerCache;
     }
 
     public boolean isExistUser(Long userId) {
-        boolean exist = false;
-        if (userService.getUserById(userId) != null) {
-            exist = true;
-        }
-        return exist;
+        entityResolver.findUser(userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id %d не найден", userId)));
+        return true;
     }
 
     public User checkUser(long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
+        return entityResolver.findUser(userId).orElseThrow(() ->
                 new NotFoundException("Пользователь с id = " + userId + " не зарегестрирован"));
     }
 
     public Item checkItem(long itemId) {
-        return itemRepository.findById(itemId).orElseThrow(() ->
+        return entityResolver.findItem(itemId).orElseThrow(() ->
                 new NotFoundException("Вещь с id = " + itemId + " не зарегестрирована"));
     }
 
     public boolean isAvailableItem(BookingInputDto bookingInputDto) {
-        return itemService.findItemById(bookingInputDto.getItemId()).getAvailable();
+        Long itemId = bookingInputDto.getItemId();
+        return entityResolver.findItem(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с ID=" + itemId + " не найдена!"))
+                .getAvailable();
     }
 
     public boolean isItemOwner(Long itemId, Long userId) {
-        return itemService.getItemsByOwner(userId, 0, 10).stream()
-                .anyMatch(i -> i.getId().equals(itemId));
+        Long ownerId = itemOwnerCache.get(itemId);
+        if (ownerId == null) {
+            ownerId = itemRepository.findOwnerIdById(itemId).orElse(null);
+            if (ownerId != null) {
+                itemOwnerCache.put(itemId, ownerId);
+            }
+        }
+        if (ownerId != null && ownerId.equals(userId)) {
+            return true;
+        }
+        // Как и прежде через getItemsByOwner: неизвестный пользователь получает 404, а не ответ для чужой вещи
+        isExistUser(userId);
+        return false;
     }
 
     public boolean isItemBooker(Booking booking, Long userId) {
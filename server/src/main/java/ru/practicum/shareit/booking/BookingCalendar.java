@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingTimeDto;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+
+@Slf4j
+@Component
+public class BookingCalendar {
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final boolean verify;
+    private final Map<Long, ItemCalendar> calendars;
+    private long version;
+
+    @Autowired
+    public BookingCalendar(BookingRepository bookingRepository, BookingMapper bookingMapper,
+                           @Value("${shareit.cache.booking-calendar.size:10000}") int maxSize,
+                           @Value("${shareit.booking.calendar.verify:false}") boolean verify) {
+        this.bookingRepository = bookingRepository;
+        this.bookingMapper = bookingMapper;
+        this.verify = verify;
+        this.calendars = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ItemCalendar> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public BookingTimeDto getLastBooking(Long itemId, LocalDateTime now) {
+        return calendar(itemId).last(now);
+    }
+
+    public BookingTimeDto getNextBooking(Long itemId, LocalDateTime now) {
+        return calendar(itemId).next(now);
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId) {
+        return calendar(itemId).overlaps(start, end, excludedBookingId);
+    }
+
+    public List<TimeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return calendar(itemId).freeSlots(from, to);
+    }
+
+    public synchronized void evict(Long itemId) {
+        calendars.remove(itemId);
+        version++;
+    }
+
+    private ItemCalendar calendar(Long itemId) {
+        ItemCalendar cached;
+        long loadedVersion;
+        synchronized (this) {
+            cached = calendars.get(itemId);
+            loadedVersion = version;
+        }
+        if (cached != null) {
+            if (verify) {
+                verify(itemId, cached);
+            }
+            return cached;
+        }
+        ItemCalendar loaded = load(itemId);
+        synchronized (this) {
+            if (version == loadedVersion) {
+                calendars.put(itemId, loaded);
+            }
+        }
+        log.debug("Загружен календарь вещи с ID={}: {} подтверждённых бронирований", itemId, loaded.size());
+        return loaded;
+    }
+
+    private ItemCalendar load(Long itemId) {
+        return new ItemCalendar(bookingRepository.findTimeline(itemId, Status.APPROVED).stream()
+                .map(bookingMapper::toBookingTimeDto)
+                .collect(toList()));
+    }
+
+    private void verify(Long itemId, ItemCalendar cached) {
+        if (!cached.sameAs(load(itemId))) {
+            throw new IllegalStateException("Календарь бронирований вещи с ID=" + itemId +
+                    " расходится с базой данных!");
+        }
+    }
+}
@@ -2,12 +2,16 @@ package ru.practicum.shareit.booking;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -63,4 +67,37 @@ public class BookingController {
                 "списка всех бронирований вещей пользователя с ID={} с параметром STATE={}", userId, state);
         return ResponseEntity.ok(bookingService.getBookingsOwner(state, userId, from, size));
     }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<BookingPageDto> getBookingsPage(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                          @RequestHeader(USER_ID) Long userId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен GET-запрос к эндпоинту: '/bookings/cursor' на получение " +
+                "страницы бронирований пользователя с ID={} с параметром STATE={}", userId, state);
+        return ResponseEntity.ok(bookingService.getBookingsPage(state, userId, cursor, size));
+    }
+
+    @GetMapping("/owner/cursor")
+    public ResponseEntity<BookingPageDto> getBookingsOwnerPage(@RequestParam(name = "state", defaultValue = "ALL")
+                                               String state,
+                                               @RequestHeader(USER_ID) Long userId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен GET-запрос к эндпоинту: '/bookings/owner/cursor' на получение " +
+                "страницы бронирований вещей пользователя с ID={} с параметром STATE={}", userId, state);
+        return ResponseEntity.ok(bookingService.getBookingsOwnerPage(state, userId, cursor, size));
+    }
+
+    @GetMapping("/items/{itemId}/slots")
+    public ResponseEntity<List<TimeSlotDto>> getFreeSlots(@PathVariable Long itemId,
+                                                          @RequestHeader(USER_ID) Long userId,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          LocalDateTime from,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          LocalDateTime to) {
+        log.info("Получен GET-запрос к эндпоинту: '/bookings/items/{}/slots' на получение " +
+                "свободных периодов вещи с {} по {}", itemId, from, to);
+        return ResponseEntity.ok(bookingService.getFreeSlots(itemId, userId, from, to));
+    }
 }
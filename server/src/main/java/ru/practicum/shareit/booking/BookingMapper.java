@@ -5,23 +5,22 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingTimeDto;
+import ru.practicum.shareit.booking.dto.BookingTimeView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.context.EntityResolver;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
-import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.user.UserMapper;
-import ru.practicum.shareit.user.UserService;
 
 @Component
 public class BookingMapper {
-    private final UserService userService;
-    private final ItemService itemService;
+    private final EntityResolver entityResolver;
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
 
     @Autowired
-    public BookingMapper(UserService userService, ItemService itemService, ItemMapper itemMapper, UserMapper userMapper) {
-        this.userService = userService;
-        this.itemService = itemService;
+    public BookingMapper(EntityResolver entityResolver, ItemMapper itemMapper, UserMapper userMapper) {
+        this.entityResolver = entityResolver;
         this.itemMapper = itemMapper;
         this.userMapper = userMapper;
     }
@@ -54,13 +53,26 @@ public class BookingMapper {
         }
     }
 
+    public BookingTimeDto toBookingTimeDto(BookingTimeView booking) {
+        return new BookingTimeDto(
+                booking.getId(),
+                booking.getBookerId(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        );
+    }
+
     public Booking toBooking(BookingInputDto bookingInputDto, Long bookerId) {
         return new Booking(
                 null,
                 bookingInputDto.getStart(),
                 bookingInputDto.getEnd(),
-                itemService.findItemById(bookingInputDto.getItemId()),
-                userMapper.toUser(userService.getUserById(bookerId)),
+                entityResolver.findItem(bookingInputDto.getItemId())
+                        .orElseThrow(() -> new NotFoundException("Вещь с ID=" + bookingInputDto.getItemId() +
+                                " не найдена!")),
+                entityResolver.findUser(bookerId)
+                        .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id %d не найден",
+                                bookerId))),
                 Status.WAITING
         );
     }
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+// Функция для CHECK-ограничения в H2: обходится только java.sql, поэтому драйверу H2 достаточно runtime-области
+public final class BookingOverlapCheck {
+    private static final String LOCK_ITEM = "select id from items where id = ? for update";
+    private static final String FIND_OVERLAP = "select 1 from bookings " +
+            "where item_id = ? and status = 'APPROVED' and id <> ? and start_time < ? and end_time > ? limit 1";
+
+    private BookingOverlapCheck() {
+    }
+
+    public static boolean isPeriodFree(Connection conn, Long id, Long itemId, Timestamp start, Timestamp end,
+                                       String status) throws SQLException {
+        if (!Status.APPROVED.name().equals(status) || itemId == null) {
+            return true;
+        }
+        try (PreparedStatement lock = conn.prepareStatement(LOCK_ITEM)) {
+            lock.setLong(1, itemId);
+            lock.executeQuery().close();
+        }
+        try (PreparedStatement overlap = conn.prepareStatement(FIND_OVERLAP)) {
+            overlap.setLong(1, itemId);
+            overlap.setLong(2, id != null ? id : -1L);
+            overlap.setTimestamp(3, end);
+            overlap.setTimestamp(4, start);
+            try (ResultSet rs = overlap.executeQuery()) {
+                return !rs.next();
+            }
+        }
+    }
+}
@@ -2,13 +2,18 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingTimeView;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long>, PagingAndSortingRepository<Booking, Long> {
+    String SEEK = "and (b.start < :start or (b.start = :start and b.id < :id)) order by b.start desc, b.id desc";
+
     List<Booking> findByBookerId(Long bookerId, Pageable page);
 
     List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start,
@@ -31,11 +36,62 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, PagingA
 
     List<Booking> findByItemOwnerIdAndStatus(Long bookerId, Status status, Pageable page);
 
-    Booking findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(Long itemId, LocalDateTime start, Status status);
-
-    Booking findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(Long itemId, LocalDateTime end, Status status);
+    @Query("select b from Booking b where b.booker.id = :userId " + SEEK)
+    List<Booking> seekByBookerId(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                                 @Param("id") Long id, Pageable page);
+
+    @Query("select b from Booking b where b.booker.id = :userId and b.start < :now and b.end > :now " + SEEK)
+    List<Booking> seekByBookerIdAndCurrent(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                           @Param("start") LocalDateTime start, @Param("id") Long id,
+                                           Pageable page);
+
+    @Query("select b from Booking b where b.booker.id = :userId and b.end < :now " + SEEK)
+    List<Booking> seekByBookerIdAndPast(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                        @Param("start") LocalDateTime start, @Param("id") Long id,
+                                        Pageable page);
+
+    @Query("select b from Booking b where b.booker.id = :userId and b.start > :now " + SEEK)
+    List<Booking> seekByBookerIdAndFuture(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                          @Param("start") LocalDateTime start, @Param("id") Long id,
+                                          Pageable page);
+
+    @Query("select b from Booking b where b.booker.id = :userId and b.status = :status " + SEEK)
+    List<Booking> seekByBookerIdAndStatus(@Param("userId") Long userId, @Param("status") Status status,
+                                          @Param("start") LocalDateTime start, @Param("id") Long id,
+                                          Pageable page);
+
+    @Query("select b from Booking b where b.item.owner.id = :userId " + SEEK)
+    List<Booking> seekByItemOwnerId(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                                    @Param("id") Long id, Pageable page);
+
+    @Query("select b from Booking b where b.item.owner.id = :userId and b.start < :now and b.end > :now " + SEEK)
+    List<Booking> seekByItemOwnerIdAndCurrent(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                              @Param("start") LocalDateTime start, @Param("id") Long id,
+                                              Pageable page);
+
+    @Query("select b from Booking b where b.item.owner.id = :userId and b.end < :now " + SEEK)
+    List<Booking> seekByItemOwnerIdAndPast(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                           @Param("start") LocalDateTime start, @Param("id") Long id,
+                                           Pageable page);
+
+    @Query("select b from Booking b where b.item.owner.id = :userId and b.start > :now " + SEEK)
+    List<Booking> seekByItemOwnerIdAndFuture(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                             @Param("start") LocalDateTime start, @Param("id") Long id,
+                                             Pageable page);
+
+    @Query("select b from Booking b where b.item.owner.id = :userId and b.status = :status " + SEEK)
+    List<Booking> seekByItemOwnerIdAndStatus(@Param("userId") Long userId, @Param("status") Status status,
+                                             @Param("start") LocalDateTime start, @Param("id") Long id,
+                                             Pageable page);
 
     Booking findFirstByItemIdAndBookerIdAndEndIsBeforeAndStatus(Long itemId, Long userId,
                                                                 LocalDateTime end, Status status);
 
+    @Query("select b.item.id as itemId, b.id as id, b.booker.id as bookerId, " +
+            "b.start as startTime, b.end as endTime " +
+            "from Booking b " +
+            "where b.item.id = :itemId and b.status = :status " +
+            "order by b.start, b.id")
+    List<BookingTimeView> findTimeline(@Param("itemId") Long itemId, @Param("status") Status status);
+
 }
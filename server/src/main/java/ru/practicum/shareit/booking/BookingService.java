@@ -2,9 +2,12 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingTimeDto;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
 import ru.practicum.shareit.booking.model.Booking;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -18,10 +21,16 @@ public interface BookingService {
 
     List<BookingDto> getBookingsOwner(String state, Long userId, int from, int size);
 
+    BookingPageDto getBookingsPage(String state, Long userId, String cursor, int size);
+
+    BookingPageDto getBookingsOwnerPage(String state, Long userId, String cursor, int size);
+
     BookingTimeDto getLastBooking(Long itemId);
 
     BookingTimeDto getNextBooking(Long itemId);
 
+    List<TimeSlotDto> getFreeSlots(Long itemId, Long userId, LocalDateTime from, LocalDateTime to);
+
     Booking getBookingWithUserBookedItem(Long itemId, Long userId);
 
 }
@@ -1,15 +1,20 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.CheckService;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingTimeDto;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -21,17 +26,23 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final CheckService checker;
+    private final BookingCalendar calendar;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     @Lazy
-    public BookingServiceImpl(BookingRepository bookingRepository, BookingMapper bookingMapper, CheckService checker) {
+    public BookingServiceImpl(BookingRepository bookingRepository, BookingMapper bookingMapper, CheckService checker,
+                              BookingCalendar calendar, MeterRegistry meterRegistry) {
         this.bookingRepository = bookingRepository;
         this.bookingMapper = bookingMapper;
         this.checker = checker;
+        this.calendar = calendar;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -49,6 +60,10 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Вещь с ID=" + bookingInputDto.getItemId() +
                     " недоступна для бронирования самим владельцем!");
         }
+        if (calendar.overlaps(bookingInputDto.getItemId(), booking.getStart(), booking.getEnd(), null)) {
+            throw new ValidationException("Вещь с ID=" + bookingInputDto.getItemId() +
+                    " уже забронирована на указанный период!");
+        }
         return bookingMapper.toBookingDto(bookingRepository.save(booking));
     }
 
@@ -60,6 +75,7 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getEnd().isBefore(LocalDateTime.now())) {
             throw new ValidationException("Время бронирования уже истекло!");
         }
+        Status previous = booking.getStatus();
         if (booking.getBooker().getId().equals(userId)) {
             if (!approved) {
                 booking.setStatus(Status.CANCELED);
@@ -73,6 +89,10 @@ public class BookingServiceImpl implements BookingService {
                 throw new ValidationException("Решение по бронированию уже принято!");
             }
             if (approved) {
+                if (calendar.overlaps(booking.getItem().getId(), booking.getStart(), booking.getEnd(), bookingId)) {
+                    throw new ValidationException("Вещь с ID=" + booking.getItem().getId() +
+                            " уже забронирована на указанный период!");
+                }
                 booking.setStatus(Status.APPROVED);
                 log.info("Пользователь с ID={} подтвердил бронирование с ID={}", userId, bookingId);
             } else {
@@ -87,7 +107,18 @@ public class BookingServiceImpl implements BookingService {
             }
         }
 
-        return bookingMapper.toBookingDto(bookingRepository.save(booking));
+        try {
+            BookingDto updated = bookingMapper.toBookingDto(bookingRepository.save(booking));
+            meterRegistry.counter("shareit.booking.transitions",
+                    "from", previous.name(), "to", booking.getStatus().name()).increment();
+            return updated;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Бронирование с ID={} пересекается с подтверждённым бронированием", bookingId);
+            throw new ValidationException("Вещь с ID=" + booking.getItem().getId() +
+                    " уже забронирована на указанный период!");
+        } finally {
+            calendar.evict(booking.getItem().getId());
+        }
     }
 
     @Override
@@ -170,16 +201,106 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public BookingPageDto getBookingsPage(String state, Long userId, String cursor, int size) {
+        checker.checkUser(userId);
+        if (size <= 0) {
+            throw new ValidationException("Размер страницы должен быть положительным!");
+        }
+        BookingCursor after = BookingCursor.decode(cursor);
+        PageRequest page = PageRequest.of(0, size + 1);
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings;
+        switch (state) {
+            case "ALL":
+                bookings = bookingRepository.seekByBookerId(userId, after.getStart(), after.getId(), page);
+                break;
+            case "CURRENT":
+                bookings = bookingRepository.seekByBookerIdAndCurrent(userId, now, after.getStart(), after.getId(), page);
+                break;
+            case "PAST":
+                bookings = bookingRepository.seekByBookerIdAndPast(userId, now, after.getStart(), after.getId(), page);
+                break;
+            case "FUTURE":
+                bookings = bookingRepository.seekByBookerIdAndFuture(userId, now, after.getStart(), after.getId(), page);
+                break;
+            case "WAITING":
+                bookings = bookingRepository.seekByBookerIdAndStatus(userId, Status.WAITING, after.getStart(),
+                        after.getId(), page);
+                break;
+            case "REJECTED":
+                bookings = bookingRepository.seekByBookerIdAndStatus(userId, Status.REJECTED, after.getStart(),
+                        after.getId(), page);
+                break;
+            default:
+                throw new ValidationException("Unknown state: " + state);
+        }
+        return toBookingPage(bookings, size);
+    }
+
+    @Override
+    public BookingPageDto getBookingsOwnerPage(String state, Long userId, String cursor, int size) {
+        checker.checkUser(userId);
+        if (size <= 0) {
+            throw new ValidationException("Размер страницы должен быть положительным!");
+        }
+        BookingCursor after = BookingCursor.decode(cursor);
+        PageRequest page = PageRequest.of(0, size + 1);
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings;
+        switch (state) {
+            case "ALL":
+                bookings = bookingRepository.seekByItemOwnerId(userId, after.getStart(), after.getId(), page);
+                break;
+            case "CURRENT":
+                bookings = bookingRepository.seekByItemOwnerIdAndCurrent(userId, now, after.getStart(), after.getId(), page);
+                break;
+            case "PAST":
+                bookings = bookingRepository.seekByItemOwnerIdAndPast(userId, now, after.getStart(), after.getId(), page);
+                break;
+            case "FUTURE":
+                bookings = bookingRepository.seekByItemOwnerIdAndFuture(userId, now, after.getStart(), after.getId(), page);
+                break;
+            case "WAITING":
+                bookings = bookingRepository.seekByItemOwnerIdAndStatus(userId, Status.WAITING, after.getStart(),
+                        after.getId(), page);
+                break;
+            case "REJECTED":
+                bookings = bookingRepository.seekByItemOwnerIdAndStatus(userId, Status.REJECTED, after.getStart(),
+                        after.getId(), page);
+                break;
+            default:
+                throw new ValidationException("Unknown state: " + state);
+        }
+        return toBookingPage(bookings, size);
+    }
+
+    private BookingPageDto toBookingPage(List<Booking> bookings, int size) {
+        String nextCursor = bookings.size() > size ? BookingCursor.of(bookings.get(size - 1)).encode() : null;
+        return new BookingPageDto(bookings.stream()
+                .limit(size)
+                .map(bookingMapper::toBookingDto)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
     @Override
     public BookingTimeDto getLastBooking(Long itemId) {
-        return bookingMapper.toBookingTimeDto(bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(itemId,
-                LocalDateTime.now(), Status.APPROVED));
+        return calendar.getLastBooking(itemId, LocalDateTime.now());
     }
 
     @Override
     public BookingTimeDto getNextBooking(Long itemId) {
-        return bookingMapper.toBookingTimeDto(bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(itemId,
-                LocalDateTime.now(), Status.APPROVED));
+        return calendar.getNextBooking(itemId, LocalDateTime.now());
+    }
+
+    @Override
+    public List<TimeSlotDto> getFreeSlots(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
+        checker.checkUser(userId);
+        checker.checkItem(itemId);
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания!");
+        }
+        return calendar.getFreeSlots(itemId, from, to);
     }
 
     @Override
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingTimeDto;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// Снимок подтверждённых бронирований вещи, упорядоченных по (start, id); maxEnd[i] - максимум окончаний
+// среди первых i + 1 бронирований, поэтому пересечения и свободные окна ищутся бинарным поиском.
+class ItemCalendar {
+    private final List<BookingTimeDto> bookings;
+    private final LocalDateTime[] maxEnd;
+
+    ItemCalendar(List<BookingTimeDto> bookings) {
+        this.bookings = List.copyOf(bookings);
+        this.maxEnd = new LocalDateTime[bookings.size()];
+        for (int i = 0; i < maxEnd.length; i++) {
+            LocalDateTime end = this.bookings.get(i).getEnd();
+            maxEnd[i] = i == 0 || end.isAfter(maxEnd[i - 1]) ? end : maxEnd[i - 1];
+        }
+    }
+
+    BookingTimeDto last(LocalDateTime now) {
+        int i = countStartBefore(now) - 1;
+        if (i < 0) {
+            return null;
+        }
+        while (i > 0 && bookings.get(i - 1).getStart().equals(bookings.get(i).getStart())) {
+            i--;
+        }
+        return bookings.get(i);
+    }
+
+    BookingTimeDto next(LocalDateTime now) {
+        int i = countStartNotAfter(now);
+        return i < bookings.size() ? bookings.get(i) : null;
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end, Long excludedId) {
+        for (int i = countStartBefore(end) - 1; i >= 0 && maxEnd[i].isAfter(start); i--) {
+            BookingTimeDto booking = bookings.get(i);
+            if (booking.getEnd().isAfter(start) && !booking.getId().equals(excludedId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    List<TimeSlotDto> freeSlots(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return Collections.emptyList();
+        }
+        List<TimeSlotDto> slots = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (int i = firstEndingAfter(from); i < bookings.size() && bookings.get(i).getStart().isBefore(to); i++) {
+            BookingTimeDto booking = bookings.get(i);
+            if (booking.getEnd().isAfter(cursor)) {
+                if (booking.getStart().isAfter(cursor)) {
+                    slots.add(new TimeSlotDto(cursor, booking.getStart()));
+                }
+                cursor = booking.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            slots.add(new TimeSlotDto(cursor, to));
+        }
+        return slots;
+    }
+
+    boolean sameAs(ItemCalendar other) {
+        if (bookings.size() != other.bookings.size()) {
+            return false;
+        }
+        for (int i = 0; i < bookings.size(); i++) {
+            BookingTimeDto a = bookings.get(i);
+            BookingTimeDto b = other.bookings.get(i);
+            if (!a.getId().equals(b.getId()) || !Objects.equals(a.getBookerId(), b.getBookerId()) ||
+                    !a.getStart().equals(b.getStart()) || !a.getEnd().equals(b.getEnd())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        return bookings.size();
+    }
+
+    private int countStartBefore(LocalDateTime time) {
+        int low = 0;
+        int high = bookings.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bookings.get(mid).getStart().isBefore(time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int countStartNotAfter(LocalDateTime time) {
+        int low = 0;
+        int high = bookings.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!bookings.get(mid).getStart().isAfter(time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstEndingAfter(LocalDateTime time) {
+        int low = 0;
+        int high = maxEnd.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!maxEnd[mid].isAfter(time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.context;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+
+@Component
+public class EntityResolver {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public EntityResolver(UserRepository userRepository, ItemRepository itemRepository) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+    }
+
+    public Optional<User> findUser(Long userId) {
+        EntityScope scope = EntityScope.current();
+        if (scope == null) {
+            return userRepository.findById(userId);
+        }
+        User user = scope.users.get(userId);
+        if (user != null) {
+            scope.hit();
+            return Optional.of(user);
+        }
+        scope.userQueried();
+        Optional<User> found = userRepository.findById(userId);
+        found.ifPresent(u -> scope.users.put(userId, u));
+        return found;
+    }
+
+    public Optional<Item> findItem(Long itemId) {
+        EntityScope scope = EntityScope.current();
+        if (scope == null) {
+            return itemRepository.findById(itemId);
+        }
+        Item item = scope.items.get(itemId);
+        if (item != null) {
+            scope.hit();
+            return Optional.of(item);
+        }
+        scope.itemQueried();
+        Optional<Item> found = itemRepository.findById(itemId);
+        found.ifPresent(i -> scope.items.put(itemId, i));
+        return found;
+    }
+}
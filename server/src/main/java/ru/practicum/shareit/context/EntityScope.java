@@ -0,0 +1,58 @@
+package ru.practicum.shareit.context;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class EntityScope {
+    private static final ThreadLocal<EntityScope> CURRENT = new ThreadLocal<>();
+
+    final Map<Long, User> users = new HashMap<>();
+    final Map<Long, Item> items = new HashMap<>();
+    private int userQueries;
+    private int itemQueries;
+    private int hits;
+
+    private EntityScope() {
+    }
+
+    public static EntityScope open() {
+        EntityScope scope = new EntityScope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    static EntityScope current() {
+        return CURRENT.get();
+    }
+
+    void userQueried() {
+        userQueries++;
+    }
+
+    void itemQueried() {
+        itemQueries++;
+    }
+
+    void hit() {
+        hits++;
+    }
+
+    public int getUserQueries() {
+        return userQueries;
+    }
+
+    public int getItemQueries() {
+        return itemQueries;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.context;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Slf4j
+@Component
+public class EntityScopeFilter extends OncePerRequestFilter {
+    private static final String METRIC = "shareit.request.entity.lookups";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    public EntityScopeFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EntityScope scope = EntityScope.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            EntityScope.close();
+            log.debug("Запрос {} {}: загружено пользователей={}, вещей={}, повторных обращений={}",
+                    request.getMethod(), request.getRequestURI(),
+                    scope.getUserQueries(), scope.getItemQueries(), scope.getHits());
+            meterRegistry.ifAvailable(registry -> {
+                record(registry, "user", scope.getUserQueries());
+                record(registry, "item", scope.getItemQueries());
+                record(registry, "cached", scope.getHits());
+            });
+        }
+    }
+
+    private static void record(MeterRegistry registry, String kind, int count) {
+        DistributionSummary.builder(METRIC)
+                .tag("kind", kind)
+                .register(registry)
+                .record(count);
+    }
+}
@@ -1,11 +1,21 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId, Sort sort);
+    // Отзывы выбираются сразу в DTO: без сущностей вещи и её владельца, только с именем автора
+    @Query("select new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, c.item.id, a.name, c.created) " +
+            "from Comment c join c.author a where c.item.id = :itemId order by c.created desc")
+    List<CommentDto> findCommentDtosByItemId(@Param("itemId") Long itemId);
+
+    @Query("select new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, c.item.id, a.name, c.created) " +
+            "from Comment c join c.author a where c.item.id in :itemIds order by c.created desc")
+    List<CommentDto> findCommentDtosByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
 }
@@ -2,12 +2,14 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -56,11 +58,28 @@ public class ItemController {
         return ResponseEntity.ok(itemService.getItemsBySearchQuery(text, from, size));
     }
 
+    @GetMapping("/search/free")
+    public ResponseEntity<List<ItemDto>> getFreeItemsBySearchQuery(@RequestParam String text,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime start,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime end,
+                                               @RequestParam(defaultValue = "0") int from,
+                                               @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен GET-запрос к эндпоинту: '/items/search/free' на поиск свободных с {} по {} вещей " +
+                "с текстом={}", start, end, text);
+        return ResponseEntity.ok(itemService.getFreeItemsBySearchQuery(text, start, end, from, size));
+    }
+
     @GetMapping
     public ResponseEntity<List<ItemDto>> getItemsByOwner(@RequestHeader(OWNER) Long ownerId,
                                          @RequestParam(defaultValue = "0") int from,
-                                         @RequestParam(defaultValue = "10") int size) {
+                                         @RequestParam(defaultValue = "10") int size,
+                                         @RequestParam(required = false) Long afterId) {
         log.info("Получен GET-запрос к эндпоинту: '/items' на получение всех вещей владельца с ID={}", ownerId);
+        if (afterId != null) {
+            return ResponseEntity.ok(itemService.getItemsByOwnerAfter(ownerId, afterId, size));
+        }
         return ResponseEntity.ok(itemService.getItemsByOwner(ownerId, from, size));
     }
 
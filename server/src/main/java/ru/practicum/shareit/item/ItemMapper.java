@@ -3,27 +3,33 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingTimeDto;
+import ru.practicum.shareit.context.EntityResolver;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemAnswerRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemOwnerView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserMapper;
-import ru.practicum.shareit.user.UserService;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
 
 @Component
 public class ItemMapper {
     private final BookingService bookingService;
     private final ItemService itemService;
-    private final UserService userService;
-    private final UserMapper userMapper;
+    private final EntityResolver entityResolver;
 
     @Autowired
-    public ItemMapper(BookingService bookingService, ItemService itemService, UserService userService, UserMapper userMapper) {
+    public ItemMapper(BookingService bookingService, ItemService itemService, EntityResolver entityResolver) {
         this.bookingService = bookingService;
         this.itemService = itemService;
-        this.userService = userService;
-        this.userMapper = userMapper;
+        this.entityResolver = entityResolver;
     }
 
     public ItemDto toItemDtoForOwner(Item item) {
@@ -38,6 +44,33 @@ public class ItemMapper {
                 itemService.getCommentsByItemId(item.getId()));
     }
 
+    public List<ItemDto> toItemDtosForOwner(List<ItemOwnerView> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = items.stream()
+                .map(ItemOwnerView::getId)
+                .collect(toList());
+        Map<Long, List<CommentDto>> comments = itemService.getCommentsByItemIds(ids);
+        return items.stream()
+                .map(item -> new ItemDto(
+                        item.getId(),
+                        item.getName(),
+                        item.getDescription(),
+                        item.getAvailable(),
+                        item.getRequestId(),
+                        item.getLastBookingId() != null
+                                ? new BookingTimeDto(item.getLastBookingId(), item.getLastBookerId(),
+                                        item.getLastStart(), item.getLastEnd())
+                                : null,
+                        item.getNextBookingId() != null
+                                ? new BookingTimeDto(item.getNextBookingId(), item.getNextBookerId(),
+                                        item.getNextStart(), item.getNextEnd())
+                                : null,
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(toList());
+    }
+
     public ItemDto toItemDto(Item item) {
         return new ItemDto(
                 item.getId(),
@@ -56,7 +89,9 @@ public class ItemMapper {
                 itemDto.getName(),
                 itemDto.getDescription(),
                 itemDto.getAvailable(),
-                userMapper.toUser(userService.getUserById(ownerId)),
+                entityResolver.findUser(ownerId)
+                        .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id %d не найден",
+                                ownerId))),
                 itemDto.getRequestId() != null ? itemDto.getRequestId() : null);
     }
 
@@ -64,7 +99,7 @@ public class ItemMapper {
         return new CommentDto(
                 comment.getId(),
                 comment.getText(),
-                comment.getItem(),
+                comment.getItem().getId(),
                 comment.getAuthor().getName(),
                 comment.getCreated());
     }
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class ItemOwnerCache {
+    private final Map<Long, Long> owners;
+
+    public ItemOwnerCache(@Value("${shareit.cache.item-owner.size:10000}") int maxSize) {
+        this.owners = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized Long get(Long itemId) {
+        return owners.get(itemId);
+    }
+
+    public synchronized void put(Long itemId, Long ownerId) {
+        owners.put(itemId, ownerId);
+    }
+
+    public synchronized void evict(Long itemId) {
+        owners.remove(itemId);
+    }
+}
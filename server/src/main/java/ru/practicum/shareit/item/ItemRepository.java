@@ -6,13 +6,50 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.dto.ItemAnswerRequestDto;
+import ru.practicum.shareit.item.dto.ItemOwnerView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchView;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long>, PagingAndSortingRepository<Item, Long> {
 
-    List<Item> findByOwnerId(Long ownerId, Pageable page);
+    // Вещи владельца вместе с последним и ближайшим подтверждёнными бронированиями одной выборкой,
+    // упорядоченной по id: страница задаётся смещением или id последней вещи предыдущей страницы.
+    // Из бронирований с одинаковым началом берётся одно по id, чтобы вещь не повторялась в выборке
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available, " +
+            "i.requestId as requestId, " +
+            "l.id as lastBookingId, l.booker.id as lastBookerId, l.start as lastStart, l.end as lastEnd, " +
+            "n.id as nextBookingId, n.booker.id as nextBookerId, n.start as nextStart, n.end as nextEnd " +
+            "from Item i " +
+            "left join Booking l on l.id = " +
+            "(select max(lb.id) from Booking lb where lb.item = i and lb.status = :status and lb.start = " +
+            "(select max(ls.start) from Booking ls where ls.item = i and ls.status = :status and ls.start < :now)) " +
+            "left join Booking n on n.id = " +
+            "(select min(nb.id) from Booking nb where nb.item = i and nb.status = :status and nb.start = " +
+            "(select min(ns.start) from Booking ns where ns.item = i and ns.status = :status and ns.start > :now)) " +
+            "where i.owner.id = :ownerId and i.id > :afterId " +
+            "order by i.id")
+    List<ItemOwnerView> findOwnerItems(@Param("ownerId") Long ownerId, @Param("afterId") Long afterId,
+                                       @Param("now") LocalDateTime now, @Param("status") Status status,
+                                       Pageable page);
+
+    @Query("select i.id from Item i where i.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("select distinct b.item.id from Booking b where b.booker.id = :bookerId and b.status = :status")
+    List<Long> findBookedIdsByBookerId(@Param("bookerId") Long bookerId, @Param("status") Status status);
+
+    @Query("select i.id from Item i where i.id in :ids order by i.id")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select i.owner.id from Item i where i.id = :itemId")
+    Optional<Long> findOwnerIdById(@Param("itemId") Long itemId);
 
     @Query(" select i from Item i " +
             "where lower(i.name) like lower(concat('%', :search, '%')) " +
@@ -20,6 +57,29 @@ public interface ItemRepository extends JpaRepository<Item, Long>, PagingAndSort
             " and i.available = true")
     List<Item> getItemsBySearchQuery(@Param("search") String text, Pageable page);
 
+    @Query(" select i from Item i " +
+            "where (lower(i.name) like lower(concat('%', :search, '%')) " +
+            " or lower(i.description) like lower(concat('%', :search, '%'))) " +
+            " and i.available = true " +
+            " and not exists (select b.id from Booking b " +
+            "where b.item = i and b.status = :status and b.start < :end and b.end > :start)")
+    List<Item> getFreeItemsBySearchQuery(@Param("search") String text, @Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end, @Param("status") Status status,
+                                         Pageable page);
+
+    @Query("select i.id from Item i where i.id in :ids " +
+            " and not exists (select b.id from Booking b " +
+            "where b.item = i and b.status = :status and b.start < :end and b.end > :start) " +
+            "order by i.id")
+    List<Long> findFreeIdsByIdIn(@Param("ids") Collection<Long> ids, @Param("start") LocalDateTime start,
+                                 @Param("end") LocalDateTime end, @Param("status") Status status);
+
     List<Item> findAllByRequestId(Long requestId, Sort sort);
 
+    @Query("select new ru.practicum.shareit.item.dto.ItemAnswerRequestDto(i.id, i.name, i.description, i.available, " +
+            "i.requestId) from Item i where i.requestId in :requestIds order by i.id desc")
+    List<ItemAnswerRequestDto> findAnswersByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    List<ItemSearchView> findByIdGreaterThanOrderByIdAsc(Long id, Pageable page);
+
 }
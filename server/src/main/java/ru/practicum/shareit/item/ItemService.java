@@ -5,7 +5,10 @@ import ru.practicum.shareit.item.dto.ItemAnswerRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ItemService {
     ItemDto getItemById(Long id, Long ownerId);
@@ -14,18 +17,26 @@ public interface ItemService {
 
     List<ItemDto> getItemsByOwner(Long ownerId, int from, int size);
 
+    List<ItemDto> getItemsByOwnerAfter(Long ownerId, Long afterId, int size);
+
     void deleteItemById(Long itemId, Long userId);
 
     List<ItemDto> getItemsBySearchQuery(String text, int from, int size);
 
+    List<ItemDto> getFreeItemsBySearchQuery(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
     ItemDto updateItem(ItemDto itemDto, Long ownerId, Long itemId);
 
     CommentDto createComment(CommentDto commentDto, Long itemId, Long userId);
 
     List<CommentDto> getCommentsByItemId(Long itemId);
 
+    Map<Long, List<CommentDto>> getCommentsByItemIds(Collection<Long> itemIds);
+
     Item findItemById(Long id);
 
     List<ItemAnswerRequestDto> getItemsByRequestId(Long id);
 
+    Map<Long, List<ItemAnswerRequestDto>> getItemsByRequestIds(Collection<Long> requestIds);
+
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
@@ -7,7 +8,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.CheckService;
+import ru.practicum.shareit.booking.BookingCalendar;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -16,31 +19,43 @@ import ru.practicum.shareit.item.dto.ItemAnswerRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
 @Service
 @Slf4j
+@Timed(value = "shareit.service", histogram = true)
 public class ItemServiceImpl implements ItemService {
     private final ItemMapper itemMapper;
     private final CommentRepository commentRepository;
     private final ItemRepository itemRepository;
     private final BookingService bookingService;
     private final CheckService checker;
+    private final ItemSearchEngine searchEngine;
+    private final ItemOwnerCache itemOwnerCache;
+    private final BookingCalendar calendar;
 
     @Autowired
     @Lazy
     public ItemServiceImpl(ItemMapper itemMapper,
-                           CommentRepository commentRepository, ItemRepository itemRepository, BookingService bookingService, CheckService checkService) {
+                           CommentRepository commentRepository, ItemRepository itemRepository, BookingService bookingService, CheckService checkService,
+                           ItemSearchEngine searchEngine, ItemOwnerCache itemOwnerCache, BookingCalendar calendar) {
         this.itemMapper = itemMapper;
         this.commentRepository = commentRepository;
         this.itemRepository = itemRepository;
         this.bookingService = bookingService;
         this.checker = checkService;
+        this.searchEngine = searchEngine;
+        this.itemOwnerCache = itemOwnerCache;
+        this.calendar = calendar;
     }
 
     @Override
@@ -48,6 +63,8 @@ public class ItemServiceImpl implements ItemService {
         isItemValid(itemDto);
         checker.isExistUser(ownerId);
         Item item = itemRepository.save(itemMapper.toItem(itemDto, ownerId));
+        itemOwnerCache.put(item.getId(), ownerId);
+        searchEngine.index(item);
         return itemMapper.toItemDto(item);
     }
 
@@ -85,6 +102,9 @@ public class ItemServiceImpl implements ItemService {
             itemRepository.findById(id)
                     .orElseThrow(() -> new NotFoundException("Вещь с ID=" + id + " не найдена!"));
             itemRepository.deleteById(id);
+            itemOwnerCache.evict(id);
+            searchEngine.remove(id);
+            calendar.evict(id);
         } else {
             throw new ValidationException("Удалить вещь может только владелец!");
         }
@@ -92,9 +112,21 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDto> getItemsBySearchQuery(String text, int from, int size) {
-        PageRequest page = PageRequest.of(from / size, size);
-            text = text.toLowerCase();
-        return itemRepository.getItemsBySearchQuery(text, page).stream()
+        PageRequest page = PageRequest.of(from / size, size, Sort.by(Sort.Direction.ASC, "id"));
+        text = text.toLowerCase();
+        return searchEngine.search(text, page).stream()
+                .map(itemMapper::toItemDto)
+                .collect(toList());
+    }
+
+    @Override
+    public List<ItemDto> getFreeItemsBySearchQuery(String text, LocalDateTime start, LocalDateTime end,
+                                                   int from, int size) {
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Время окончания периода должно быть позже времени начала!");
+        }
+        PageRequest page = PageRequest.of(from / size, size, Sort.by(Sort.Direction.ASC, "id"));
+        return searchEngine.searchFree(text.toLowerCase(), start, end, page).stream()
                 .map(itemMapper::toItemDto)
                 .collect(toList());
     }
@@ -102,11 +134,18 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemDto> getItemsByOwner(Long ownerId, int from, int size) {
         checker.isExistUser(ownerId);
-        PageRequest page = PageRequest.of(from / size, size);
-        return itemRepository.findByOwnerId(ownerId, page).stream()
-                .map(itemMapper::toItemDtoForOwner)
-                .sorted(Comparator.comparing(ItemDto::getId))
-                .collect(toList());
+        return findOwnerItems(ownerId, 0L, PageRequest.of(from / size, size));
+    }
+
+    @Override
+    public List<ItemDto> getItemsByOwnerAfter(Long ownerId, Long afterId, int size) {
+        checker.isExistUser(ownerId);
+        return findOwnerItems(ownerId, afterId, PageRequest.of(0, size));
+    }
+
+    private List<ItemDto> findOwnerItems(Long ownerId, Long afterId, PageRequest page) {
+        return itemMapper.toItemDtosForOwner(itemRepository.findOwnerItems(ownerId, afterId, LocalDateTime.now(),
+                Status.APPROVED, page));
     }
 
     @Override
@@ -129,7 +168,9 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item updated = itemRepository.save(item);
+        searchEngine.index(updated);
+        return itemMapper.toItemDto(updated);
     }
 
     @Override
@@ -153,10 +194,13 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<CommentDto> getCommentsByItemId(Long itemId) {
-        return commentRepository.findByItemId(itemId,
-                        Sort.by(Sort.Direction.DESC, "created")).stream()
-                .map(itemMapper::toCommentDto)
-                .collect(toList());
+        return commentRepository.findCommentDtosByItemId(itemId);
+    }
+
+    @Override
+    public Map<Long, List<CommentDto>> getCommentsByItemIds(Collection<Long> itemIds) {
+        return commentRepository.findCommentDtosByItemIdIn(itemIds).stream()
+                .collect(groupingBy(CommentDto::getItemId, LinkedHashMap::new, toList()));
     }
 
     @Override
@@ -172,6 +216,12 @@ public class ItemServiceImpl implements ItemService {
                 .map(itemMapper::toItemAnswerRequestDto)
                 .collect(toList());
     }
+
+    @Override
+    public Map<Long, List<ItemAnswerRequestDto>> getItemsByRequestIds(Collection<Long> requestIds) {
+        return itemRepository.findAnswersByRequestIdIn(requestIds).stream()
+                .collect(groupingBy(ItemAnswerRequestDto::getRequestId, LinkedHashMap::new, toList()));
+    }
 }
 
 
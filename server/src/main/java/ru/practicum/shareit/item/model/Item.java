@@ -24,7 +24,7 @@ public class Item {
     private String description;
     @Column(name = "item_available")
     private Boolean available;
-    @ManyToOne()
+    @ManyToOne(optional = false)
     @JoinColumn(name = "owner_id", referencedColumnName = "id")
     private User owner;
     @Column(name = "request_id")
@@ -0,0 +1,194 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+@Slf4j
+public abstract class IndexedItemSearchEngine implements ItemSearchEngine {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int CHECK_BATCH_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final Map<Long, IndexedItem> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    protected IndexedItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    protected abstract Set<String> documentKeys(String text);
+
+    protected abstract Set<String> queryKeys(String query);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        documents.clear();
+        postings.clear();
+        long lastId = 0L;
+        List<ItemSearchView> batch;
+        do {
+            batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (ItemSearchView view : batch) {
+                put(view.getId(), view.getName(), view.getDescription(), view.getAvailable());
+                lastId = view.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Поисковый индекс вещей построен, проиндексировано {} вещей", documents.size());
+    }
+
+    @Override
+    public synchronized void index(Item item) {
+        put(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+    }
+
+    @Override
+    public synchronized void remove(Long itemId) {
+        IndexedItem old = documents.remove(itemId);
+        if (old != null) {
+            unlink(itemId, old);
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        List<Long> matched = candidates(text).stream()
+                .filter(id -> matches(id, text))
+                .sorted()
+                .collect(toList());
+        return load(page(matched, page, itemRepository::findIdsByIdIn));
+    }
+
+    // Кандидатов отбирает индекс, а занятость на период проверяется в БД
+    @Override
+    public List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, Pageable page) {
+        List<Long> matched = candidates(text).stream()
+                .filter(id -> matchesAvailable(id, text))
+                .sorted()
+                .collect(toList());
+        return load(page(matched, page,
+                batch -> itemRepository.findFreeIdsByIdIn(batch, start, end, Status.APPROVED)));
+    }
+
+    // Страница отсчитывается только по вещам, которые прошли проверку в БД: кандидаты проверяются пачками
+    // по возрастанию id, пока не наберётся запрошенная страница. Так вещи, удалённые в обход индекса,
+    // не сдвигают страницы и не делают их короче
+    private List<Long> page(List<Long> matched, Pageable page, Function<List<Long>, List<Long>> check) {
+        long needed = page.getOffset() + page.getPageSize();
+        List<Long> checked = new ArrayList<>();
+        for (int from = 0; from < matched.size() && checked.size() < needed; from += CHECK_BATCH_SIZE) {
+            checked.addAll(check.apply(matched.subList(from, Math.min(from + CHECK_BATCH_SIZE, matched.size()))));
+        }
+        return checked.stream()
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .collect(toList());
+    }
+
+    private Collection<Long> candidates(String text) {
+        Set<String> keys = queryKeys(text);
+        return keys == null ? documents.keySet() : intersect(keys);
+    }
+
+    private boolean matches(Long id, String query) {
+        IndexedItem document = documents.get(id);
+        return document != null
+                && ItemSearchMatcher.matches(document.name, document.description, document.available, query);
+    }
+
+    private boolean matchesAvailable(Long id, String query) {
+        IndexedItem document = documents.get(id);
+        return document != null
+                && ItemSearchMatcher.matchesAvailable(document.name, document.description, document.available, query);
+    }
+
+    private Collection<Long> intersect(Set<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Set<Long>> lists = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Set<Long> list = postings.get(key);
+            if (list == null || list.isEmpty()) {
+                return Collections.emptyList();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private List<Item> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+
+    private void put(Long id, String name, String description, Boolean available) {
+        IndexedItem document = new IndexedItem(lower(name), lower(description), Boolean.TRUE.equals(available));
+        IndexedItem old = documents.put(id, document);
+        if (old != null) {
+            unlink(id, old);
+        }
+        for (String key : keys(document)) {
+            postings.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unlink(Long id, IndexedItem document) {
+        for (String key : keys(document)) {
+            Set<Long> list = postings.get(key);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    private Set<String> keys(IndexedItem document) {
+        Set<String> keys = new HashSet<>(documentKeys(document.name));
+        keys.addAll(documentKeys(document.description));
+        return keys;
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+
+    private static final class IndexedItem {
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        private IndexedItem(String name, String description, boolean available) {
+            this.name = name;
+            this.description = description;
+            this.available = available;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.toSet;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class InvertedIndexItemSearchEngine extends IndexedItemSearchEngine {
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    protected Set<String> documentKeys(String text) {
+        return tokenize(text);
+    }
+
+    @Override
+    protected Set<String> queryKeys(String query) {
+        return tokenize(query);
+    }
+
+    static Set<String> tokenize(String text) {
+        return Arrays.stream(DELIMITER.split(text.toLowerCase()))
+                .filter(token -> !token.isEmpty())
+                .collect(toSet());
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class ItemSearchMatcher {
+    private static final char ANY_SEQUENCE = '%';
+    private static final char ANY_CHAR = '_';
+    private static final char ESCAPE = '\\';
+
+    private ItemSearchMatcher() {
+    }
+
+    static boolean matches(String name, String description, boolean available, String query) {
+        return like(name, query) || (like(description, query) && available);
+    }
+
+    static boolean matchesAvailable(String name, String description, boolean available, String query) {
+        return available && (like(name, query) || like(description, query));
+    }
+
+    static List<String> literals(String query) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == ESCAPE && i + 1 < query.length()) {
+                literal.append(query.charAt(++i));
+            } else if (c == ANY_SEQUENCE || c == ANY_CHAR) {
+                addLiteral(literals, literal);
+            } else {
+                literal.append(c);
+            }
+        }
+        addLiteral(literals, literal);
+        return literals;
+    }
+
+    private static void addLiteral(List<String> literals, StringBuilder literal) {
+        if (literal.length() > 0) {
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    private static boolean like(String text, String query) {
+        if (!hasWildcards(query)) {
+            return text.contains(query);
+        }
+        return likeAnywhere(text, query);
+    }
+
+    private static boolean hasWildcards(String query) {
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == ANY_SEQUENCE || c == ANY_CHAR || c == ESCAPE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Эквивалент "text like '%' || query || '%'" с экранированием через '\'
+    private static boolean likeAnywhere(String text, String query) {
+        StringBuilder pattern = new StringBuilder(query.length() + 2);
+        boolean[] escaped = new boolean[query.length() + 2];
+        pattern.append(ANY_SEQUENCE);
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == ESCAPE && i + 1 < query.length()) {
+                escaped[pattern.length()] = true;
+                pattern.append(query.charAt(++i));
+            } else {
+                pattern.append(c);
+            }
+        }
+        pattern.append(ANY_SEQUENCE);
+
+        int t = 0;
+        int p = 0;
+        int starP = -1;
+        int starT = 0;
+        while (t < text.length()) {
+            if (p < pattern.length() && !escaped[p] && pattern.charAt(p) == ANY_SEQUENCE) {
+                starP = p++;
+                starT = t;
+            } else if (p < pattern.length()
+                    && ((!escaped[p] && pattern.charAt(p) == ANY_CHAR) || pattern.charAt(p) == text.charAt(t))) {
+                p++;
+                t++;
+            } else if (starP >= 0) {
+                p = starP + 1;
+                t = ++starT;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && !escaped[p] && pattern.charAt(p) == ANY_SEQUENCE) {
+            p++;
+        }
+        return p == pattern.length();
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine extends IndexedItemSearchEngine {
+    private static final int GRAM_SIZE = 3;
+
+    @Autowired
+    public TrigramItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    protected Set<String> documentKeys(String text) {
+        Set<String> grams = new HashSet<>();
+        addGrams(grams, text);
+        return grams;
+    }
+
+    @Override
+    protected Set<String> queryKeys(String query) {
+        Set<String> grams = new HashSet<>();
+        for (String literal : ItemSearchMatcher.literals(query)) {
+            addGrams(grams, literal);
+        }
+        return grams.isEmpty() ? null : grams;
+    }
+
+    private static void addGrams(Set<String> grams, String text) {
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+    }
+}
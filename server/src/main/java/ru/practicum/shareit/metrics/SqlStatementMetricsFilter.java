@@ -0,0 +1,79 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    private static final String METRIC = "shareit.request.sql.statements";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    public SqlStatementMetricsFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicInteger statements = new AtomicInteger();
+        // StreamingResponseBody и Callable выполняются в другом потоке: досчитываем там и пишем метрику по завершении
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(METRIC, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void preProcess(NativeWebRequest webRequest, Callable<T> task) {
+                SqlStatementCounter.start();
+            }
+
+            @Override
+            public <T> void postProcess(NativeWebRequest webRequest, Callable<T> task, Object result) {
+                statements.addAndGet(SqlStatementCounter.stop());
+            }
+
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                record(request, statements.get());
+            }
+        });
+        SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            statements.addAndGet(SqlStatementCounter.stop());
+            if (!request.isAsyncStarted()) {
+                record(request, statements.get());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements) {
+        // Шаблон пути вместо фактического URI, чтобы не плодить метрики на каждый ID
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        log.debug("Запрос {} {}: выполнено SQL-запросов={}", request.getMethod(), uri, statements);
+        meterRegistry.ifAvailable(registry -> DistributionSummary.builder(METRIC)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(statements));
+    }
+}
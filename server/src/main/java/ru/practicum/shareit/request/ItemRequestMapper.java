@@ -2,25 +2,29 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.context.EntityResolver;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemAnswerRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.UserMapper;
-import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
 
 @Component
 public class ItemRequestMapper {
-    private final UserService userService;
-    private final UserMapper userMapper;
+    private final EntityResolver entityResolver;
 
     private final ItemService itemService;
 
     @Autowired
-    public ItemRequestMapper(UserService userService, UserMapper userMapper, ItemService itemService) {
-        this.userService = userService;
-        this.userMapper = userMapper;
+    public ItemRequestMapper(EntityResolver entityResolver, ItemService itemService) {
+        this.entityResolver = entityResolver;
         this.itemService = itemService;
     }
 
@@ -33,11 +37,31 @@ public class ItemRequestMapper {
                 itemService.getItemsByRequestId(itemRequest.getId()));
     }
 
+    public List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(toList());
+        Map<Long, List<ItemAnswerRequestDto>> items = itemService.getItemsByRequestIds(ids);
+        return itemRequests.stream()
+                .map(itemRequest -> new ItemRequestDto(
+                        itemRequest.getId(),
+                        itemRequest.getDescription(),
+                        itemRequest.getRequester(),
+                        itemRequest.getCreated(),
+                        items.getOrDefault(itemRequest.getId(), Collections.emptyList())))
+                .collect(toList());
+    }
+
     public ItemRequest toItemRequest(ItemRequestDto itemRequestInputDto, Long requesterId, LocalDateTime created) {
         return new ItemRequest(
                 null,
                 itemRequestInputDto.getDescription(),
-                userMapper.toUser(userService.getUserById(requesterId)),
+                entityResolver.findUser(requesterId)
+                        .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id %d не найден",
+                                requesterId))),
                 created);
     }
 }
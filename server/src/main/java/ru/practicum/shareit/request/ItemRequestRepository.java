@@ -2,7 +2,9 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
@@ -10,5 +12,6 @@ import java.util.List;
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>, PagingAndSortingRepository<ItemRequest, Long> {
     List<ItemRequest> findByRequesterId(Long requesterId);
 
-    List<ItemRequest> findByRequesterIdNot(Long ownerId, Pageable pageable);
+    @Query("select r from ItemRequest r join fetch r.requester where r.requester.id <> :ownerId")
+    List<ItemRequest> findByRequesterIdNot(@Param("ownerId") Long ownerId, Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -20,6 +21,7 @@ import static java.util.stream.Collectors.toList;
 @Service
 @Slf4j
 @Validated
+@Timed(value = "shareit.service", histogram = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final CheckService checker;
@@ -52,8 +54,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDto> getItemRequestsByRequesterId(Long userId) {
         checker.isExistUser(userId);
-        List<ItemRequestDto> itemRequestDtos = itemRequestRepository.findByRequesterId(userId).stream()
-                .map(itemRequestMapper::toItemRequestDto)
+        List<ItemRequestDto> itemRequestDtos = itemRequestMapper.toItemRequestDtos(
+                        itemRequestRepository.findByRequesterId(userId)).stream()
                 .sorted(Comparator.comparing(ItemRequestDto::getId))
                 .collect(toList());
         return itemRequestDtos;
@@ -64,9 +66,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> getItemRequests(Long userId, int from, int size) {
         checker.isExistUser(userId);
         PageRequest page = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "created"));
-        return itemRequestRepository.findByRequesterIdNot(userId, page).stream()
-                .map(itemRequestMapper::toItemRequestDto)
-                .collect(toList());
+        return itemRequestMapper.toItemRequestDtos(itemRequestRepository.findByRequesterIdNot(userId, page));
     }
 
     @Override
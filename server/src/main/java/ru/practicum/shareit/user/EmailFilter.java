@@ -0,0 +1,122 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+// Фильтр Блума по адресам электронной почты пользователей. Ответ "нет" точный, и проверку в БД можно
+// пропустить; ответ "возможно" требует запроса по индексу UQ_USER_EMAIL. Удалённые и изменённые адреса
+// из фильтра не убираются и дают только лишние запросы в БД до следующего перезапуска.
+@Slf4j
+@Component
+public class EmailFilter {
+    private static final long MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private final UserRepository userRepository;
+    private final AtomicLongArray bits;
+    private final long size;
+    private final int hashes;
+    private final Counter absent;
+    private final Counter present;
+    private volatile boolean ready;
+
+    @Autowired
+    public EmailFilter(UserRepository userRepository, MeterRegistry registry,
+                       @Value("${shareit.user.email-filter.expected-size:100000}") int expectedSize,
+                       @Value("${shareit.user.email-filter.fpp:0.01}") double fpp) {
+        this.userRepository = userRepository;
+        if (expectedSize <= 0) {
+            throw new IllegalArgumentException("Ожидаемое число адресов в фильтре должно быть положительным: "
+                    + expectedSize);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("Доля ложных срабатываний фильтра должна быть в интервале (0, 1): "
+                    + fpp);
+        }
+        long optimalSize = (long) Math.ceil(-expectedSize * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long words = (optimalSize + 63) / 64;
+        if (words > MAX_WORDS) {
+            throw new IllegalArgumentException("Фильтр на " + expectedSize + " адресов с долей ложных срабатываний "
+                    + fpp + " не помещается в массив: нужно " + optimalSize + " бит");
+        }
+        this.bits = new AtomicLongArray((int) words);
+        this.size = bits.length() * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) size / expectedSize * Math.log(2)));
+        this.absent = Counter.builder("shareit.user.email-filter.checks").tag("result", "absent").register(registry);
+        this.present = Counter.builder("shareit.user.email-filter.checks").tag("result", "maybe").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long count = 0;
+        try (Stream<UserDto> users = userRepository.streamAllUsers()) {
+            for (UserDto user : (Iterable<UserDto>) users::iterator) {
+                add(user.getEmail());
+                count++;
+            }
+        }
+        ready = true;
+        log.info("Фильтр адресов электронной почты построен: {} адресов, {} бит, {} хеш-функций", count, size, hashes);
+    }
+
+    public void add(String email) {
+        long hash = hash(email);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long index = Math.floorMod(first + (long) i * second, size);
+            long mask = 1L << index;
+            bits.getAndAccumulate((int) (index >>> 6), mask, (value, bit) -> value | bit);
+        }
+    }
+
+    // Пока фильтр не построен, любой адрес считается возможно занятым
+    public boolean mightContain(String email) {
+        if (!ready || contains(email)) {
+            present.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    private boolean contains(String email) {
+        long hash = hash(email);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long index = Math.floorMod(first + (long) i * second, size);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-битный FNV-1a с финальным перемешиванием из MurmurHash3; младшая и старшая половины
+    // используются как две независимые хеш-функции
+    private static long hash(String email) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < email.length(); i++) {
+            hash ^= email.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,11 +1,21 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Slf4j
@@ -13,10 +23,14 @@ import java.util.List;
 @RequestMapping(path = "/users")
 public class UserController {
     private final UserService userService;
+    private final ObjectWriter userWriter;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.userWriter = objectMapper.writerFor(UserDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     @PostMapping
@@ -32,9 +46,35 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> findAll() {
+    public ResponseEntity<StreamingResponseBody> findAll() {
         log.info("Получен GET-запрос к эндпоинту: '/users' на получение всех пользователей");
-        return ResponseEntity.ok(userService.getListAllUsers());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(this::writeAllUsers);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<List<UserDto>> findPage(@RequestParam(defaultValue = "0") int from,
+                                                  @RequestParam int size) {
+        log.info("Получен GET-запрос к эндпоинту: '/users' на получение страницы пользователей from={}, size={}",
+                from, size);
+        return ResponseEntity.ok(userService.getUsers(from, size));
+    }
+
+    // JSON-массив пишется в ответ по мере чтения пользователей из БД
+    private void writeAllUsers(OutputStream out) throws IOException {
+        try (SequenceWriter writer = userWriter.writeValuesAsArray(out)) {
+            userService.forEachUser(user -> {
+                try {
+                    writer.write(user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
     }
 
     @GetMapping("/{id}")
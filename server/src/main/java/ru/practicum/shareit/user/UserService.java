@@ -3,9 +3,12 @@ package ru.practicum.shareit.user;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
-    List<UserDto> getListAllUsers();
+    List<UserDto> getUsers(int from, int size);
+
+    void forEachUser(Consumer<UserDto> action);
 
     UserDto getUserById(Long id);
 
@@ -1,35 +1,77 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingCalendar;
+import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.exception.EmailExistException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemOwnerCache;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
 @Service
 @Slf4j
+@Timed(value = "shareit.service", histogram = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final EmailFilter emailFilter;
+    private final ItemRepository itemRepository;
+    private final BookingCalendar calendar;
+    private final ItemOwnerCache itemOwnerCache;
+    private final ItemSearchEngine searchEngine;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, EmailFilter emailFilter,
+                           ItemRepository itemRepository, BookingCalendar calendar, ItemOwnerCache itemOwnerCache,
+                           ItemSearchEngine searchEngine) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.emailFilter = emailFilter;
+        this.itemRepository = itemRepository;
+        this.calendar = calendar;
+        this.itemOwnerCache = itemOwnerCache;
+        this.searchEngine = searchEngine;
     }
 
     @Override
     public UserDto createUser(UserDto userDto) {
         isEmailValid(userDto.getEmail());
+        if (emailFilter.mightContain(userDto.getEmail()) && userRepository.existsByEmail(userDto.getEmail())) {
+            throw new EmailExistException("Пользователь с Email=" + userDto.getEmail() + " уже существует!");
+        }
         User user = userMapper.toUser(userDto);
-        return userMapper.toUserDto(userRepository.save(user));
+        UserDto created;
+        try {
+            created = userMapper.toUserDto(userRepository.save(user));
+        } catch (DataIntegrityViolationException e) {
+            throw emailTaken(userDto.getEmail(), e);
+        }
+        emailFilter.add(userDto.getEmail());
+        return created;
+    }
+
+    // Фильтр и проверка в БД не защищают от параллельного запроса с тем же адресом: его ловит UQ_USER_EMAIL
+    private EmailExistException emailTaken(String email, DataIntegrityViolationException e) {
+        log.warn("Адрес {} занят параллельным запросом: {}", email, e.getMostSpecificCause().getMessage());
+        emailFilter.add(email);
+        return new EmailExistException("Пользователь с Email=" + email + " уже существует!");
     }
 
     void isEmailValid(String email) {
@@ -44,12 +86,22 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> getListAllUsers() {
-        return userRepository.findAll().stream()
+    public List<UserDto> getUsers(int from, int size) {
+        PageRequest page = PageRequest.of(from / size, size, Sort.by(Sort.Direction.ASC, "id"));
+        return userRepository.findAll(page).stream()
                 .map(userMapper::toUserDto)
                 .collect(toList());
     }
 
+    // Пользователи читаются курсором и передаются по одному, весь список в памяти не собирается
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachUser(Consumer<UserDto> action) {
+        try (Stream<UserDto> users = userRepository.streamAllUsers()) {
+            users.forEach(action);
+        }
+    }
+
     @Override
     public UserDto getUserById(Long id) {
         return userMapper.toUserDto(userRepository.findById(id)
@@ -64,7 +116,14 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id %d не найден", id)));
         updateFields(user, userToUpdate);
-        return userMapper.toUserDto(userRepository.save(user));
+        UserDto updated;
+        try {
+            updated = userMapper.toUserDto(userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException e) {
+            throw emailTaken(user.getEmail(), e);
+        }
+        emailFilter.add(user.getEmail());
+        return updated;
     }
 
     private void updateFields(User user, UserDto userToUpdate) {
@@ -72,19 +131,26 @@ public class UserServiceImpl implements UserService {
             user.setName(userToUpdate.getName());
         }
         if ((userToUpdate.getEmail() != null) && (!userToUpdate.getEmail().equals(user.getEmail()))) {
-            if (userRepository.findByEmail(userToUpdate.getEmail())
-                    .stream()
-                    .filter(u -> u.getEmail().equals(userToUpdate.getEmail()))
-                    .allMatch(u -> u.getId().equals(userToUpdate.getId()))) {
-                user.setEmail(userToUpdate.getEmail());
-            } else {
+            if (emailFilter.mightContain(userToUpdate.getEmail())
+                    && userRepository.existsByEmailAndIdNot(userToUpdate.getEmail(), userToUpdate.getId())) {
                 throw new EmailExistException("Пользователь с Email=" + userToUpdate.getEmail() + " уже существует!");
             }
+            user.setEmail(userToUpdate.getEmail());
         }
     }
 
     @Override
     public void deleteUserById(Long id) {
+        // Вещи пользователя и все бронирования удаляются каскадом в БД, поэтому кэши и поисковый индекс
+        // сбрасываются явно: по его вещам и по вещам, которые он бронировал
+        List<Long> ownedIds = itemRepository.findIdsByOwnerId(id);
+        List<Long> bookedIds = itemRepository.findBookedIdsByBookerId(id, Status.APPROVED);
         userRepository.deleteById(id);
+        for (Long itemId : ownedIds) {
+            itemOwnerCache.evict(itemId);
+            searchEngine.remove(itemId);
+            calendar.evict(itemId);
+        }
+        bookedIds.forEach(calendar::evict);
     }
 }
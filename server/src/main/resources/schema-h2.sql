@@ -0,0 +1,4 @@
+CREATE ALIAS IF NOT EXISTS BOOKING_PERIOD_FREE FOR 'ru.practicum.shareit.booking.BookingOverlapCheck.isPeriodFree';
+
+ALTER TABLE bookings ADD CONSTRAINT IF NOT EXISTS EX_BOOKINGS_ITEM_PERIOD
+    CHECK (BOOKING_PERIOD_FREE(id, item_id, start_time, end_time, status));
@@ -0,0 +1,11 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Тело блока записано строкой в одинарных кавычках: разделитель скриптов Spring не понимает $$
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_period'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT EX_BOOKINGS_ITEM_PERIOD
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+            WHERE (status = ''APPROVED'');
+    END IF;
+END';
@@ -40,4 +40,18 @@ CREATE TABLE IF NOT EXISTS comments (
     author_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
     item_id BIGINT REFERENCES items (id) ON DELETE CASCADE,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL
-    );
\ No newline at end of file
+    );
+
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_ITEM_START ON bookings (item_id, start_time);
+
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_ITEM_STATUS_PERIOD ON bookings (item_id, status, start_time, end_time);
+
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_BOOKER_START ON bookings (booker_id, start_time);
+
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_BOOKER_STATUS_START ON bookings (booker_id, status, start_time);
+
+CREATE INDEX IF NOT EXISTS IDX_ITEMS_OWNER ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS IDX_ITEMS_REQUEST ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS IDX_COMMENTS_ITEM ON comments (item_id);
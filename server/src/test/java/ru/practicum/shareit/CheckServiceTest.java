@@ -5,32 +5,41 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingTimeDto;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.context.EntityResolver;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemOwnerCache;
+import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class CheckServiceTest {
     @Mock
-    private UserService mockUserService;
+    private EntityResolver mockEntityResolver;
 
     @Mock
-    private  ItemServiceImpl mockItemService;
+    private ItemRepository mockItemRepository;
+
+    @Spy
+    private ItemOwnerCache itemOwnerCache = new ItemOwnerCache(10);
 
     @InjectMocks
     private CheckService checkService;
@@ -108,7 +117,7 @@ public class CheckServiceTest {
 
     @Test
     void isAvailableItem() {
-        when(mockItemService.findItemById(bookingToSave.getItemId())).thenReturn(item);
+        when(mockEntityResolver.findItem(bookingToSave.getItemId())).thenReturn(Optional.of(item));
 
         boolean actual = checkService.isAvailableItem(bookingToSave);
 
@@ -117,13 +126,44 @@ public class CheckServiceTest {
 
     @Test
     void isItemOwner() {
-        when(mockItemService.getItemsByOwner(owner.getId(), 0, 10)).thenReturn(List.of(itemToSave));
+        when(mockItemRepository.findOwnerIdById(item.getId())).thenReturn(Optional.of(owner.getId()));
 
         boolean actual = checkService.isItemOwner(item.getId(), owner.getId());
 
         assertTrue(actual);
     }
 
+    @Test
+    void isItemOwner_whenOwnerCached_thenRepositoryNotCalled() {
+        when(mockItemRepository.findOwnerIdById(item.getId())).thenReturn(Optional.of(owner.getId()));
+        when(mockEntityResolver.findUser(booker.getId())).thenReturn(Optional.of(booker));
+
+        checkService.isItemOwner(item.getId(), owner.getId());
+        boolean actual = checkService.isItemOwner(item.getId(), booker.getId());
+
+        assertFalse(actual);
+        verify(mockItemRepository, times(1)).findOwnerIdById(item.getId());
+    }
+
+    @Test
+    void isItemOwner_whenItemNotFound_thenReturnedFalse() {
+        when(mockItemRepository.findOwnerIdById(item.getId())).thenReturn(Optional.empty());
+        when(mockEntityResolver.findUser(owner.getId())).thenReturn(Optional.of(owner));
+
+        boolean actual = checkService.isItemOwner(item.getId(), owner.getId());
+
+        assertFalse(actual);
+        verify(itemOwnerCache, never()).put(any(), any());
+    }
+
+    @Test
+    void isItemOwner_whenUserUnknown_thenNotFoundExceptionThrown() {
+        when(mockItemRepository.findOwnerIdById(item.getId())).thenReturn(Optional.of(owner.getId()));
+        when(mockEntityResolver.findUser(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> checkService.isItemOwner(item.getId(), 99L));
+    }
+
     @Test
     void isItemBooker() {
         boolean actual = checkService.isItemBooker(booking, booker.getId());
@@ -133,9 +173,21 @@ public class CheckServiceTest {
 
     @Test
     void isExistUser() {
-        when(mockUserService.getUserById(bookerDto.getId())).thenReturn(bookerDto);
+        when(mockEntityResolver.findUser(bookerDto.getId())).thenReturn(Optional.of(booker));
         boolean actual = checkService.isExistUser(bookerDto.getId());
 
         assertTrue(actual);
     }
+
+    @Test
+    void isExistUser_whenUserNotFound_thenNotFoundExceptionThrown() {
+        when(mockEntityResolver.findUser(0L)).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(
+                NotFoundException.class,
+                () -> checkService.isExistUser(0L)
+        );
+
+        assertEquals("Пользователь с id 0 не найден", exception.getMessage());
+    }
 }
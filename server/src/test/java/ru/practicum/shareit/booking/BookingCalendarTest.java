@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.dto.BookingTimeView;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCalendarTest {
+    @Mock
+    private BookingRepository mockBookingRepository;
+
+    private BookingCalendar calendar;
+
+    private final SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    private final List<BookingTimeView> timeline = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        calendar = new BookingCalendar(mockBookingRepository, new BookingMapper(null, null, null), 10, false);
+        timeline.add(view(1L, base.minusDays(3), base.minusDays(2)));
+        timeline.add(view(2L, base.minusHours(2), base.minusHours(1)));
+        timeline.add(view(3L, base.plusHours(1), base.plusHours(2)));
+        timeline.add(view(4L, base.plusDays(1), base.plusDays(2)));
+    }
+
+    @Test
+    void getLastAndNextBooking_thenLoadedOnce() {
+        when(mockBookingRepository.findTimeline(1L, Status.APPROVED))
+                .thenReturn(timeline);
+
+        assertEquals(2L, calendar.getLastBooking(1L, base).getId());
+        assertEquals(3L, calendar.getNextBooking(1L, base).getId());
+        assertEquals(4L, calendar.getNextBooking(1L, base.plusHours(1)).getId());
+        assertNull(calendar.getLastBooking(1L, base.minusDays(3)));
+        assertNull(calendar.getNextBooking(1L, base.plusDays(1)));
+
+        verify(mockBookingRepository, times(1)).findTimeline(1L, Status.APPROVED);
+    }
+
+    @Test
+    void overlaps_thenHalfOpenIntervalsCompared() {
+        when(mockBookingRepository.findTimeline(1L, Status.APPROVED))
+                .thenReturn(timeline);
+
+        assertTrue(calendar.overlaps(1L, base.plusMinutes(90), base.plusHours(3), null));
+        assertTrue(calendar.overlaps(1L, base.minusDays(4), base.plusDays(4), null));
+        assertFalse(calendar.overlaps(1L, base.plusHours(2), base.plusDays(1), null));
+        assertFalse(calendar.overlaps(1L, base.plusMinutes(90), base.plusHours(3), 3L));
+        assertFalse(calendar.overlaps(1L, base.minusHours(1), base.plusHours(1), null));
+    }
+
+    @Test
+    void getFreeSlots_thenGapsBetweenBookingsReturned() {
+        when(mockBookingRepository.findTimeline(1L, Status.APPROVED))
+                .thenReturn(timeline);
+
+        List<TimeSlotDto> slots = calendar.getFreeSlots(1L, base.minusHours(3), base.plusDays(3));
+
+        assertEquals(4, slots.size());
+        assertEquals(base.minusHours(3), slots.get(0).getStart());
+        assertEquals(base.minusHours(2), slots.get(0).getEnd());
+        assertEquals(base.minusHours(1), slots.get(1).getStart());
+        assertEquals(base.plusHours(1), slots.get(1).getEnd());
+        assertEquals(base.plusHours(2), slots.get(2).getStart());
+        assertEquals(base.plusDays(1), slots.get(2).getEnd());
+        assertEquals(base.plusDays(2), slots.get(3).getStart());
+        assertEquals(base.plusDays(3), slots.get(3).getEnd());
+        assertTrue(calendar.getFreeSlots(1L, base.plusMinutes(70), base.plusMinutes(80)).isEmpty());
+    }
+
+    @Test
+    void evict_thenReloadedFromRepository() {
+        when(mockBookingRepository.findTimeline(1L, Status.APPROVED))
+                .thenReturn(List.of())
+                .thenReturn(timeline);
+
+        assertNull(calendar.getNextBooking(1L, base));
+        calendar.evict(1L);
+
+        assertEquals(3L, calendar.getNextBooking(1L, base).getId());
+        verify(mockBookingRepository, times(2)).findTimeline(1L, Status.APPROVED);
+    }
+
+    @Test
+    void verify_whenCalendarDiffersFromDatabase_thenIllegalStateExceptionThrown() {
+        calendar = new BookingCalendar(mockBookingRepository, new BookingMapper(null, null, null), 10, true);
+        when(mockBookingRepository.findTimeline(1L, Status.APPROVED))
+                .thenReturn(timeline)
+                .thenReturn(timeline)
+                .thenReturn(timeline.subList(0, 2));
+
+        calendar.getNextBooking(1L, base);
+        assertEquals(3L, calendar.getNextBooking(1L, base).getId());
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> calendar.getNextBooking(1L, base)
+        );
+
+        assertEquals("Календарь бронирований вещи с ID=1 расходится с базой данных!", exception.getMessage());
+    }
+
+    private BookingTimeView view(Long id, LocalDateTime start, LocalDateTime end) {
+        return projections.createProjection(BookingTimeView.class, Map.of(
+                "itemId", 1L,
+                "id", id,
+                "bookerId", 7L,
+                "startTime", start,
+                "endTime", end));
+    }
+}
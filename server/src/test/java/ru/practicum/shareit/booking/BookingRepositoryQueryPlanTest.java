@@ -0,0 +1,152 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Планы строятся на H2: индексы общие (schema.sql), но выбор плана в PostgreSQL этим тестом не проверяется
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.booking.BookingRepositoryQueryPlanTest$SqlCapture")
+class BookingRepositoryQueryPlanTest {
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    private BookingRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Pattern INDEX_ACCESS = Pattern.compile("/\\* PUBLIC\\.(\\w+): ([^*]+)");
+
+    private final PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(new User(null, "Owner", "o@mail.ru"));
+        booker = em.persist(new User(null, "Booker", "b@mail.ru"));
+        item = em.persist(new Item(null, "Кусторез", "Бывалый", true, owner, null));
+        em.persist(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker, Status.APPROVED));
+        em.persistAndFlush(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, Status.WAITING));
+        em.clear();
+    }
+
+    @Test
+    void finders_whenExplainedOnH2_thenBookingsAndItemsReadByIndex() {
+        Long userId = booker.getId();
+        Long ownerId = owner.getId();
+        Long itemId = item.getId();
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("findByBookerId", () -> repository.findByBookerId(userId, page));
+        finders.put("findByBookerIdAndStartIsBeforeAndEndIsAfter",
+                () -> repository.findByBookerIdAndStartIsBeforeAndEndIsAfter(userId, now, now, page));
+        finders.put("findByBookerIdAndEndIsBefore", () -> repository.findByBookerIdAndEndIsBefore(userId, now, page));
+        finders.put("findByBookerIdAndStartIsAfter", () -> repository.findByBookerIdAndStartIsAfter(userId, now, page));
+        finders.put("findByBookerIdAndStatus",
+                () -> repository.findByBookerIdAndStatus(userId, Status.WAITING, page));
+        finders.put("findByItemOwnerId", () -> repository.findByItemOwnerId(ownerId, page));
+        finders.put("findByItemOwnerIdAndStartIsBeforeAndEndIsAfter",
+                () -> repository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(ownerId, now, now, page));
+        finders.put("findByItemOwnerIdAndEndIsBefore",
+                () -> repository.findByItemOwnerIdAndEndIsBefore(ownerId, now, page));
+        finders.put("findByItemOwnerIdAndStartIsAfter",
+                () -> repository.findByItemOwnerIdAndStartIsAfter(ownerId, now, page));
+        finders.put("findByItemOwnerIdAndStatus",
+                () -> repository.findByItemOwnerIdAndStatus(ownerId, Status.WAITING, page));
+        finders.put("seekByBookerId", () -> repository.seekByBookerId(userId, now, Long.MAX_VALUE, page));
+        finders.put("seekByBookerIdAndCurrent",
+                () -> repository.seekByBookerIdAndCurrent(userId, now, now, Long.MAX_VALUE, page));
+        finders.put("seekByBookerIdAndPast",
+                () -> repository.seekByBookerIdAndPast(userId, now, now, Long.MAX_VALUE, page));
+        finders.put("seekByBookerIdAndFuture",
+                () -> repository.seekByBookerIdAndFuture(userId, now, now, Long.MAX_VALUE, page));
+        finders.put("seekByBookerIdAndStatus",
+                () -> repository.seekByBookerIdAndStatus(userId, Status.WAITING, now, Long.MAX_VALUE, page));
+        finders.put("seekByItemOwnerId", () -> repository.seekByItemOwnerId(ownerId, now, Long.MAX_VALUE, page));
+        finders.put("seekByItemOwnerIdAndCurrent",
+                () -> repository.seekByItemOwnerIdAndCurrent(ownerId, now, now, Long.MAX_VALUE, page));
+        finders.put("seekByItemOwnerIdAndPast",
+                () -> repository.seekByItemOwnerIdAndPast(ownerId, now, now, Long.MAX_VALUE, page));
+        finders.put("seekByItemOwnerIdAndFuture",
+                () -> repository.seekByItemOwnerIdAndFuture(ownerId, now, now, Long.MAX_VALUE, page));
+        finders.put("seekByItemOwnerIdAndStatus",
+                () -> repository.seekByItemOwnerIdAndStatus(ownerId, Status.WAITING, now, Long.MAX_VALUE, page));
+        finders.put("findFirstByItemIdAndBookerIdAndEndIsBeforeAndStatus",
+                () -> repository.findFirstByItemIdAndBookerIdAndEndIsBeforeAndStatus(itemId, userId, now,
+                        Status.APPROVED));
+        finders.put("findTimeline", () -> repository.findTimeline(itemId, Status.APPROVED));
+        for (Method method : BookingRepository.class.getDeclaredMethods()) {
+            assertTrue(finders.containsKey(method.getName()), "План запроса " + method.getName() + " не проверяется");
+        }
+
+        Map<String, String> leadingColumns = leadingColumns();
+        for (Map.Entry<String, Runnable> finder : finders.entrySet()) {
+            SqlCapture.STATEMENTS.clear();
+            finder.getValue().run();
+            String sql = SqlCapture.STATEMENTS.stream()
+                    .filter(statement -> statement.contains("bookings"))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("Не перехвачен SQL для " + finder.getKey()));
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+            assertNotNull(plan);
+            assertFalse(plan.contains("tableScan"), finder.getKey() + " читает таблицу целиком:\n" + plan);
+            Matcher access = INDEX_ACCESS.matcher(plan);
+            while (access.find()) {
+                String leading = leadingColumns.get(access.group(1));
+                assertTrue(access.group(2).startsWith(leading + " ") || access.group(2).contains(" " + leading + " "),
+                        finder.getKey() + " обходит индекс " + access.group(1) + " без условия на " + leading +
+                                ":\n" + plan);
+            }
+        }
+    }
+
+    private Map<String, String> leadingColumns() {
+        Map<String, String> columns = new HashMap<>();
+        jdbcTemplate.query("select index_name, column_name from information_schema.index_columns " +
+                        "where table_schema = 'PUBLIC' and ordinal_position = 1",
+                rs -> {
+                    columns.put(rs.getString(1), rs.getString(2));
+                });
+        return columns;
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
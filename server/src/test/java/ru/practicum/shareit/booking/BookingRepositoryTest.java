@@ -7,11 +7,14 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingTimeView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.PersistenceException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -155,21 +158,33 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findFirstByItem_IdAndStartBeforeAndStatus_thenReturnBooking() {
-        Booking actualBooking = repository.findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(item.getId(),
-                LocalDateTime.now().plusHours(3), status);
+    void save_whenApprovedPeriodOverlaps_thenRejectedByDatabase() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        em.persistAndFlush(new Booking(null, start, start.plusHours(2), item, booker, Status.APPROVED));
+        Booking overlapping = new Booking(null, start.plusHours(1), start.plusHours(3), item, booker,
+                Status.APPROVED);
 
-        assertNotNull(actualBooking);
-        assertEquals(booking.getItem().getId(), actualBooking.getItem().getId());
+        assertThrows(PersistenceException.class, () -> em.persistAndFlush(overlapping));
     }
 
     @Test
-    void findFirstByItem_IdAndStartAfterAndStatus_thenReturnBooking() {
-        Booking actualBooking = repository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(item.getId(),
-                LocalDateTime.now().plusHours(1), status);
+    void save_whenWaitingPeriodOverlaps_thenSaved() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        em.persistAndFlush(new Booking(null, start, start.plusHours(2), item, booker, Status.APPROVED));
+        Booking overlapping = new Booking(null, start.plusHours(1), start.plusHours(3), item, booker,
+                Status.WAITING);
 
-        assertNotNull(actualBooking);
-        assertEquals(booking.getItem().getId(), actualBooking.getItem().getId());
+        assertNotNull(em.persistAndFlush(overlapping).getId());
+    }
+
+    @Test
+    void findTimeline_thenReturnBookingTimeList() {
+        List<BookingTimeView> actualList = repository.findTimeline(item.getId(), status);
+
+        assertEquals(1, actualList.size());
+        assertEquals(item.getId(), actualList.get(0).getItemId());
+        assertEquals(booking.getId(), actualList.get(0).getId());
+        assertEquals(booker.getId(), actualList.get(0).getBookerId());
     }
 
     @Test
@@ -7,17 +7,26 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -25,6 +34,7 @@ import static org.hamcrest.Matchers.hasSize;
 class BookingServiceIntegrationTest {
     private final EntityManager em;
     private final BookingService service;
+    private final UserService userService;
 
     @Test
     void createBooking() {
@@ -80,6 +90,61 @@ class BookingServiceIntegrationTest {
     }
 
 
+    @Test
+    void createBooking_whenPeriodOverlapsApproved_thenValidationExceptionThrown() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+
+        Item item = new Item(null, "Item", "GoodItem", true, owner, null);
+        em.persist(item);
+
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+
+        LocalDateTime start = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusHours(2);
+        em.persist(new Booking(null, start, end, item, booker, Status.APPROVED));
+
+        BookingInputDto overlapping = makeBookingInputDto(item.getId(), start.plusHours(1), end.plusHours(1));
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> service.create(overlapping, booker.getId())
+        );
+
+        assertEquals("Вещь с ID=" + item.getId() + " уже забронирована на указанный период!", exception.getMessage());
+
+        BookingDto adjacent = service.create(makeBookingInputDto(item.getId(), end, end.plusHours(1)), booker.getId());
+        assertThat(adjacent.getStatus(), equalTo(Status.WAITING));
+    }
+
+    @Test
+    void updateBooking_whenApprovingOverlappingBooking_thenValidationExceptionThrown() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+
+        Item item = new Item(null, "Item", "GoodItem", true, owner, null);
+        em.persist(item);
+
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+
+        User booker2 = new User(null, "Booker2", "b2@email.com");
+        em.persist(booker2);
+
+        LocalDateTime start = LocalDateTime.now().plusHours(1);
+        LocalDateTime end = LocalDateTime.now().plusHours(3);
+        BookingDto first = service.create(makeBookingInputDto(item.getId(), start, end), booker.getId());
+        BookingDto second = service.create(makeBookingInputDto(item.getId(), start.plusHours(1), end.plusHours(1)),
+                booker2.getId());
+
+        service.update(first.getId(), owner.getId(), true);
+
+        assertThrows(
+                ValidationException.class,
+                () -> service.update(second.getId(), owner.getId(), true)
+        );
+    }
+
     @Test
     void getBookingById() {
         User owner = new User(null, "User1", "u@email.com");
@@ -188,6 +253,107 @@ class BookingServiceIntegrationTest {
         assertThat(actualBookings.get(1).getStatus(), equalTo(Status.WAITING));
     }
 
+    @Test
+    void getBookingsPage_whenFollowingCursor_thenAllBookingsReturnedOnce() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+
+        Item item = new Item(null, "Item1", "GoodItem", true, owner, null);
+        em.persist(item);
+
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = new Booking(null, start, start.plusHours(1), item, booker, Status.WAITING);
+        em.persist(first);
+        Booking sameStart = new Booking(null, start, start.plusHours(2), item, booker, Status.WAITING);
+        em.persist(sameStart);
+        Booking latest = new Booking(null, start.plusDays(1), start.plusDays(2), item, booker, Status.WAITING);
+        em.persist(latest);
+        em.persist(new Booking(null, start.plusDays(3), start.plusDays(4), item, booker, Status.REJECTED));
+
+        BookingPageDto firstPage = service.getBookingsPage("WAITING", booker.getId(), null, 2);
+
+        assertThat(firstPage.getBookings(), hasSize(2));
+        assertThat(firstPage.getBookings().get(0).getId(), equalTo(latest.getId()));
+        assertThat(firstPage.getBookings().get(1).getId(), equalTo(sameStart.getId()));
+        assertThat(firstPage.getNextCursor(), notNullValue());
+
+        BookingPageDto lastPage = service.getBookingsOwnerPage("WAITING", owner.getId(),
+                firstPage.getNextCursor(), 2);
+
+        assertThat(lastPage.getBookings(), hasSize(1));
+        assertThat(lastPage.getBookings().get(0).getId(), equalTo(first.getId()));
+        assertThat(lastPage.getNextCursor(), nullValue());
+    }
+
+    @Test
+    void updateBooking_whenOverlappingBookerDeleted_thenApproved() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+
+        Item item = new Item(null, "Item", "GoodItem", true, owner, null);
+        em.persist(item);
+
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+
+        User booker2 = new User(null, "Booker2", "b2@email.com");
+        em.persist(booker2);
+
+        LocalDateTime start = LocalDateTime.now().plusHours(1);
+        LocalDateTime end = LocalDateTime.now().plusHours(3);
+        BookingDto first = service.create(makeBookingInputDto(item.getId(), start, end), booker.getId());
+        BookingDto second = service.create(makeBookingInputDto(item.getId(), start.plusHours(1), end.plusHours(1)),
+                booker2.getId());
+        service.update(first.getId(), owner.getId(), true);
+        assertThat(service.getLastBooking(item.getId()), nullValue());
+        assertThat(service.getNextBooking(item.getId()).getId(), equalTo(first.getId()));
+
+        userService.deleteUserById(booker.getId());
+        em.flush();
+
+        assertThat(service.getNextBooking(item.getId()), nullValue());
+        BookingDto approved = service.update(second.getId(), owner.getId(), true);
+        assertThat(approved.getStatus(), equalTo(Status.APPROVED));
+    }
+
+    @Test
+    void getBookingsPage_whenCursorMalformed_thenValidationExceptionThrown() {
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+
+        assertThrows(
+                ValidationException.class,
+                () -> service.getBookingsPage("ALL", booker.getId(), "не курсор", 2)
+        );
+    }
+
+    @Test
+    void getFreeSlots_whenApprovedBookingInPeriod_thenGapsAroundItReturned() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+        Item item = new Item(null, "Item", "GoodItem", true, owner, null);
+        em.persist(item);
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingDto booking = service.create(makeBookingInputDto(item.getId(), base.plusHours(1), base.plusHours(2)),
+                booker.getId());
+        service.update(booking.getId(), owner.getId(), true);
+
+        List<TimeSlotDto> slots = service.getFreeSlots(item.getId(), booker.getId(), base, base.plusHours(3));
+
+        assertThat(slots, hasSize(2));
+        assertThat(slots.get(0).getEnd(), equalTo(base.plusHours(1)));
+        assertThat(slots.get(1).getStart(), equalTo(base.plusHours(2)));
+        assertThrows(
+                ValidationException.class,
+                () -> service.getFreeSlots(item.getId(), booker.getId(), base.plusHours(3), base)
+        );
+    }
+
     private BookingInputDto makeBookingInputDto(Long itemId, LocalDateTime start, LocalDateTime end) {
         BookingInputDto dto = new BookingInputDto();
         dto.setItemId(itemId);
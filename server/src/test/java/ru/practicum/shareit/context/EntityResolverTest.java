@@ -0,0 +1,89 @@
+package ru.practicum.shareit.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntityResolverTest {
+    @Mock
+    private UserRepository mockUserRepository;
+
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    @InjectMocks
+    private EntityResolver entityResolver;
+
+    private final User user = new User(1L, "User", "u@mail.ru");
+
+    private final Item item = new Item(1L, "Дрель", "Простая", true, user, null);
+
+    @AfterEach
+    void tearDown() {
+        EntityScope.close();
+    }
+
+    @Test
+    void findUser_whenScopeOpen_thenLoadedOnce() {
+        EntityScope scope = EntityScope.open();
+        when(mockUserRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        User first = entityResolver.findUser(user.getId()).orElseThrow();
+        User second = entityResolver.findUser(user.getId()).orElseThrow();
+
+        assertSame(first, second);
+        verify(mockUserRepository, times(1)).findById(user.getId());
+        assertEquals(1, scope.getUserQueries());
+        assertEquals(1, scope.getHits());
+    }
+
+    @Test
+    void findItem_whenScopeOpen_thenLoadedOnce() {
+        EntityScope scope = EntityScope.open();
+        when(mockItemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        entityResolver.findItem(item.getId());
+        entityResolver.findItem(item.getId());
+        entityResolver.findItem(item.getId());
+
+        verify(mockItemRepository, times(1)).findById(item.getId());
+        assertEquals(1, scope.getItemQueries());
+        assertEquals(2, scope.getHits());
+    }
+
+    @Test
+    void findItem_whenNotFound_thenNotCached() {
+        EntityScope scope = EntityScope.open();
+        when(mockItemRepository.findById(item.getId())).thenReturn(Optional.empty());
+
+        entityResolver.findItem(item.getId());
+        entityResolver.findItem(item.getId());
+
+        verify(mockItemRepository, times(2)).findById(item.getId());
+        assertEquals(2, scope.getItemQueries());
+    }
+
+    @Test
+    void findUser_whenScopeClosed_thenLoadedEveryTime() {
+        when(mockUserRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        entityResolver.findUser(user.getId());
+        entityResolver.findUser(user.getId());
+
+        verify(mockUserRepository, times(2)).findById(user.getId());
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.boot.test.json.JsonContent;
+import ru.practicum.shareit.item.dto.CommentDto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JsonTest
+class CommentDtoTest {
+    @Autowired
+    private JacksonTester<CommentDto> json;
+
+    @Test
+    void testCommentDto() throws Exception {
+        CommentDto commentDto = new CommentDto(1L, "Отличная дрель", 2L, "Иван",
+                LocalDateTime.of(2022, 8, 1, 12, 0));
+
+        JsonContent<CommentDto> result = json.write(commentDto);
+
+        assertThat(result).extractingJsonPathNumberValue("$.id").isEqualTo(1);
+        assertThat(result).extractingJsonPathStringValue("$.text").isEqualTo("Отличная дрель");
+        assertThat(result).extractingJsonPathNumberValue("$.itemId").isEqualTo(2);
+        assertThat(result).extractingJsonPathStringValue("$.authorName").isEqualTo("Иван");
+        assertThat(result).extractingJsonPathStringValue("$.created").isEqualTo("2022-08-01T12:00:00");
+        assertThat(result).doesNotHaveJsonPath("$.item");
+    }
+}
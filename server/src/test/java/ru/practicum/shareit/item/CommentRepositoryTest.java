@@ -3,7 +3,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
@@ -47,15 +47,29 @@ class CommentRepositoryTest {
             LocalDateTime.now());
 
     @Test
-    void findAllByItem_Id() {
+    void findCommentDtosByItemId() {
         userRepository.save(user);
         itemRepository.save(item);
         commentRepository.save(comment);
 
-        List<Comment> actualList = commentRepository.findByItemId(item.getId(),
-                Sort.by(Sort.Direction.DESC, "created"));
+        List<CommentDto> actualList = commentRepository.findCommentDtosByItemId(item.getId());
 
         assertNotNull(actualList);
         assertEquals(comment.getText(), actualList.get(0).getText());
+        assertEquals(user.getName(), actualList.get(0).getAuthorName());
+    }
+
+    @Test
+    void findCommentDtosByItemIdIn() {
+        userRepository.save(user);
+        itemRepository.save(item);
+        commentRepository.save(comment);
+
+        List<CommentDto> actualList = commentRepository.findCommentDtosByItemIdIn(List.of(item.getId()));
+
+        assertEquals(1, actualList.size());
+        assertEquals(comment.getText(), actualList.get(0).getText());
+        assertEquals(item.getId(), actualList.get(0).getItemId());
+        assertEquals(user.getName(), actualList.get(0).getAuthorName());
     }
 }
@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.CheckService;
+import ru.practicum.shareit.booking.BookingCalendar;
 import ru.practicum.shareit.booking.BookingServiceImpl;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingTimeDto;
@@ -18,7 +19,9 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemAnswerRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemOwnerView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -46,6 +49,15 @@ class ItemServiceImplTest {
 
     @Mock
     private BookingServiceImpl mockBookingService;
+
+    @Mock
+    private ItemSearchEngine mockSearchEngine;
+
+    @Mock
+    private ItemOwnerCache mockItemOwnerCache;
+
+    @Mock
+    private BookingCalendar mockCalendar;
     @InjectMocks
     private ItemServiceImpl itemService;
     private User owner;
@@ -107,7 +119,7 @@ class ItemServiceImplTest {
         comment = new CommentDto();
         comment.setId(1L);
         comment.setText("good item");
-        comment.setItem(item);
+        comment.setItemId(item.getId());
         comment.setAuthorName("Ivanov");
         comment.setCreated(LocalDateTime.now());
 
@@ -299,6 +311,7 @@ class ItemServiceImplTest {
         itemService.deleteItemById(userId, itemId);
 
         verify(mockItemRepository, times(1)).deleteById(any());
+        verify(mockCalendar, times(1)).evict(any());
     }
 
 
@@ -333,7 +346,7 @@ class ItemServiceImplTest {
         int from = 0;
         int size = 1;
         String text = "nAmE";
-        when(mockItemRepository.getItemsBySearchQuery(any(), any())).thenReturn(List.of(item));
+        when(mockSearchEngine.search(any(), any())).thenReturn(List.of(item));
         when(mockItemMapper.toItemDto(item)).thenReturn(itemToSave);
 
         List<ItemDto> actualItems = itemService.getItemsBySearchQuery(text, from, size);
@@ -350,7 +363,8 @@ class ItemServiceImplTest {
         int size = 1;
         PageRequest page = PageRequest.of(from / size, size);
         when(mockCheckService.isExistUser(owner.getId())).thenReturn(true);
-        when(mockItemRepository.findByOwnerId(userId, page)).thenReturn(emptyList());
+        when(mockItemRepository.findOwnerItems(eq(userId), eq(0L), any(), eq(Status.APPROVED), eq(page)))
+                .thenReturn(emptyList());
 
         List<ItemDto> actualItems = itemService.getItemsByOwner(userId, from, size);
 
@@ -364,9 +378,11 @@ class ItemServiceImplTest {
         int from = 0;
         int size = 1;
         PageRequest page = PageRequest.of(from / size, size);
+        ItemOwnerView view = mock(ItemOwnerView.class);
         when(mockCheckService.isExistUser(owner.getId())).thenReturn(true);
-        when(mockItemMapper.toItemDtoForOwner(item)).thenReturn(itemForOwner);
-        when(mockItemRepository.findByOwnerId(userId, page)).thenReturn(List.of(item));
+        when(mockItemMapper.toItemDtosForOwner(List.of(view))).thenReturn(List.of(itemForOwner));
+        when(mockItemRepository.findOwnerItems(eq(userId), eq(0L), any(), eq(Status.APPROVED), eq(page)))
+                .thenReturn(List.of(view));
 
         List<ItemDto> actualItems = itemService.getItemsByOwner(userId, from, size);
 
@@ -527,7 +543,7 @@ class ItemServiceImplTest {
 
         assertThat(actualComment.getId(), equalTo(comment.getId()));
         assertThat(actualComment.getText(), equalTo(comment.getText()));
-        assertThat(actualComment.getItem(), equalTo(comment.getItem()));
+        assertThat(actualComment.getItemId(), equalTo(comment.getItemId()));
         verify(mockCommentRepository, times(1)).save(any());
     }
 
@@ -574,4 +590,14 @@ class ItemServiceImplTest {
         assertThat(actualItemAnswer.get(0).getRequestId(), equalTo(item.getRequestId()));
     }
 
-}
\ No newline at end of file
+    @Test
+    void getItemsByRequestIds() {
+        long requestId = 1L;
+        itemAnswerRequest.setRequestId(requestId);
+        when(mockItemRepository.findAnswersByRequestIdIn(List.of(requestId))).thenReturn(List.of(itemAnswerRequest));
+
+        Map<Long, List<ItemAnswerRequestDto>> actualItems = itemService.getItemsByRequestIds(List.of(requestId));
+
+        assertThat(actualItems.get(requestId), equalTo(List.of(itemAnswerRequest)));
+    }
+}
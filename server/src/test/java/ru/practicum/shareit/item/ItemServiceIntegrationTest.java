@@ -9,13 +9,16 @@ import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingTimeDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -112,6 +115,183 @@ class ItemServiceIntegrationTest {
     }
 
 
+    @Test
+    void getFreeItemsBySearchQuery() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+
+        Item booked = new Item(null, "Электродрель", "Good", true, owner, null);
+        em.persist(booked);
+        Item waiting = new Item(null, "Дрель ударная", "Good", true, owner, null);
+        em.persist(waiting);
+        Item adjacent = new Item(null, "Просто дрель", "Good", true, owner, null);
+        em.persist(adjacent);
+        Item unavailable = new Item(null, "Старая дрель", "Good", false, owner, null);
+        em.persist(unavailable);
+        Item other = new Item(null, "Отвёртка", "Good", true, owner, null);
+        em.persist(other);
+
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(2);
+        em.persist(new Booking(null, start.plusHours(1), end.plusHours(1), booked, booker, Status.APPROVED));
+        em.persist(new Booking(null, start, end, waiting, booker, Status.WAITING));
+        em.persist(new Booking(null, end, end.plusDays(1), adjacent, booker, Status.APPROVED));
+
+        List<ItemDto> actualItems = itemService.getFreeItemsBySearchQuery("ДРЕЛЬ", start, end, 0, 10);
+
+        assertEquals(2, actualItems.size());
+        assertThat(actualItems.get(0).getId(), equalTo(waiting.getId()));
+        assertThat(actualItems.get(1).getId(), equalTo(adjacent.getId()));
+    }
+
+    @Test
+    void getFreeItemsBySearchQuery_whenEndBeforeStart_thenValidationExceptionThrown() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThrows(
+                ValidationException.class,
+                () -> itemService.getFreeItemsBySearchQuery("дрель", start, start.minusHours(1), 0, 10)
+        );
+    }
+
+    @Test
+    void getItemsByOwner() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+
+        Boolean available = true;
+        Item item = new Item(null, "Электродрель", "Good", available, owner, null);
+        em.persist(item);
+
+        Item item2 = new Item(null, "Отвёртка", "Good", available, owner, null);
+        em.persist(item2);
+
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+
+        Booking bookingOld = new Booking(null, LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().minusDays(2), item, booker, Status.APPROVED);
+        em.persist(bookingOld);
+        Booking bookingLast = new Booking(null, LocalDateTime.now().minusHours(2),
+                LocalDateTime.now().minusHours(1), item, booker, Status.APPROVED);
+        em.persist(bookingLast);
+        Booking bookingNext = new Booking(null, LocalDateTime.now().plusHours(1),
+                LocalDateTime.now().plusHours(2), item, booker, Status.APPROVED);
+        em.persist(bookingNext);
+        Booking bookingWaiting = new Booking(null, LocalDateTime.now().plusMinutes(10),
+                LocalDateTime.now().plusMinutes(20), item, booker, Status.WAITING);
+        em.persist(bookingWaiting);
+        Booking bookingNext2 = new Booking(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), item2, booker, Status.APPROVED);
+        em.persist(bookingNext2);
+
+        Comment comment = new Comment(null, "Очень хорошая вещь", item, booker, LocalDateTime.now());
+        em.persist(comment);
+
+        List<ItemDto> actualItems = itemService.getItemsByOwner(owner.getId(), 0, 10);
+
+        assertEquals(2, actualItems.size());
+        assertThat(actualItems.get(0).getId(), equalTo(item.getId()));
+        assertThat(actualItems.get(0).getLastBooking().getId(), equalTo(bookingLast.getId()));
+        assertThat(actualItems.get(0).getNextBooking().getId(), equalTo(bookingNext.getId()));
+        assertThat(actualItems.get(0).getComments().size(), equalTo(1));
+        assertThat(actualItems.get(0).getComments().get(0).getText(), equalTo(comment.getText()));
+        assertThat(actualItems.get(1).getId(), equalTo(item2.getId()));
+        assertThat(actualItems.get(1).getLastBooking(), nullValue());
+        assertThat(actualItems.get(1).getNextBooking().getId(), equalTo(bookingNext2.getId()));
+        assertThat(actualItems.get(1).getComments(), empty());
+    }
+
+    @Test
+    void getItemsByOwner_whenBookingsStartTogether_thenItemListedOnce() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+        Item item = new Item(null, "Электродрель", "Good", true, owner, null);
+        em.persist(item);
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+
+        // Бронирования нулевой длины с общим началом не пересекаются и проходят проверку периода
+        LocalDateTime past = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime future = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        em.persist(new Booking(null, past, past, item, booker, Status.APPROVED));
+        Booking bookingLast = new Booking(null, past, past, item, booker, Status.APPROVED);
+        em.persist(bookingLast);
+        Booking bookingNext = new Booking(null, future, future, item, booker, Status.APPROVED);
+        em.persist(bookingNext);
+        em.persist(new Booking(null, future, future, item, booker, Status.APPROVED));
+
+        List<ItemDto> actualItems = itemService.getItemsByOwner(owner.getId(), 0, 10);
+
+        assertEquals(1, actualItems.size());
+        assertThat(actualItems.get(0).getLastBooking().getId(), equalTo(bookingLast.getId()));
+        assertThat(actualItems.get(0).getNextBooking().getId(), equalTo(bookingNext.getId()));
+    }
+
+    @Test
+    void getItemById_whenUserUnknown_thenNotFoundExceptionThrown() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+        Item item = new Item(null, "Электродрель", "Good", true, owner, null);
+        em.persist(item);
+
+        assertThrows(
+                NotFoundException.class,
+                () -> itemService.getItemById(item.getId(), owner.getId() + 100)
+        );
+    }
+
+    @Test
+    void getItemsByOwnerAfter() {
+        User owner = new User(null, "User1", "u@email.com");
+        em.persist(owner);
+
+        Item item = new Item(null, "Электродрель", "Good", true, owner, null);
+        em.persist(item);
+        Item item2 = new Item(null, "Отвёртка", "Good", true, owner, null);
+        em.persist(item2);
+        Item item3 = new Item(null, "Молоток", "Good", true, owner, null);
+        em.persist(item3);
+        Item item4 = new Item(null, "Пила", "Good", true, owner, null);
+        em.persist(item4);
+
+        User booker = new User(null, "Booker", "b@email.com");
+        em.persist(booker);
+
+        Booking bookingLast = new Booking(null, LocalDateTime.now().minusHours(2),
+                LocalDateTime.now().minusHours(1), item3, booker, Status.APPROVED);
+        em.persist(bookingLast);
+        Booking bookingNext = new Booking(null, LocalDateTime.now().plusHours(1),
+                LocalDateTime.now().plusHours(2), item3, booker, Status.APPROVED);
+        em.persist(bookingNext);
+        em.persist(new Booking(null, LocalDateTime.now().plusMinutes(10),
+                LocalDateTime.now().plusMinutes(20), item3, booker, Status.WAITING));
+        em.persist(new Booking(null, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), item4, booker, Status.REJECTED));
+        em.persist(new Booking(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), item4, booker, Status.WAITING));
+
+        List<ItemDto> firstPage = itemService.getItemsByOwner(owner.getId(), 0, 2);
+        List<ItemDto> nextPage = itemService.getItemsByOwnerAfter(owner.getId(),
+                firstPage.get(firstPage.size() - 1).getId(), 2);
+
+        assertThat(firstPage.size(), equalTo(2));
+        assertThat(firstPage.get(0).getId(), equalTo(item.getId()));
+        assertThat(firstPage.get(1).getId(), equalTo(item2.getId()));
+        assertThat(nextPage.size(), equalTo(2));
+        assertThat(nextPage.get(0).getId(), equalTo(item3.getId()));
+        assertThat(nextPage.get(0).getLastBooking().getId(), equalTo(bookingLast.getId()));
+        assertThat(nextPage.get(0).getLastBooking().getBookerId(), equalTo(booker.getId()));
+        assertThat(nextPage.get(0).getNextBooking().getId(), equalTo(bookingNext.getId()));
+        assertThat(nextPage.get(0).getNextBooking().getBookerId(), equalTo(booker.getId()));
+        assertThat(nextPage.get(1).getId(), equalTo(item4.getId()));
+        assertThat(nextPage.get(1).getLastBooking(), nullValue());
+        assertThat(nextPage.get(1).getNextBooking(), nullValue());
+    }
+
     @Test
     void updateItem() {
         User owner = new User(null, "User1", "u@email.com");
@@ -177,9 +357,7 @@ class ItemServiceIntegrationTest {
 
         assertThat(actualComment.getId(), notNullValue());
         assertThat(actualComment.getText(), equalTo(commentDto.getText()));
-        assertThat(actualComment.getItem().getId(), equalTo(item.getId()));
-        assertThat(actualComment.getItem().getName(), equalTo(item.getName()));
-        assertThat(actualComment.getItem().getDescription(), equalTo(item.getDescription()));
+        assertThat(actualComment.getItemId(), equalTo(item.getId()));
         assertThat(actualComment.getAuthorName(), equalTo(booker.getName()));
         assertThat(actualComment.getCreated(), notNullValue());
     }
@@ -187,7 +365,7 @@ class ItemServiceIntegrationTest {
     private CommentDto makeCommentDto(String text, Item item, String authorName, LocalDateTime created) {
         CommentDto dto = new CommentDto();
         dto.setText(text);
-        dto.setItem(item);
+        dto.setItemId(item.getId());
         dto.setAuthorName(authorName);
         dto.setCreated(created);
 
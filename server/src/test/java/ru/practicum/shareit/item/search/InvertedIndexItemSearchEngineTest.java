@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedIndexItemSearchEngineTest {
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    @InjectMocks
+    private InvertedIndexItemSearchEngine searchEngine;
+
+    private Item drill;
+    private Item screwdriver;
+    private Item hiddenDrill;
+
+    @BeforeEach
+    void setup() {
+        User owner = new User(1L, "Owner", "o@mail.ru");
+        drill = new Item(1L, "Дрель", "Аккумуляторная дрель", true, owner, null);
+        screwdriver = new Item(2L, "Отвёртка", "Крестовая", true, owner, null);
+        hiddenDrill = new Item(3L, "Молоток", "Почти как дрель", false, owner, null);
+        searchEngine.index(drill);
+        searchEngine.index(screwdriver);
+        searchEngine.index(hiddenDrill);
+        lenient().when(mockItemRepository.findIdsByIdIn(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void search_whenWordMatches_thenReturnedAvailableItemsOrderedById() {
+        when(mockItemRepository.findAllById(List.of(drill.getId()))).thenReturn(List.of(drill));
+
+        List<Item> actual = searchEngine.search("дрель", PageRequest.of(0, 10));
+
+        assertEquals(List.of(drill), actual);
+    }
+
+    @Test
+    void searchFree_whenWordMatches_thenAvailabilityCheckedOnlyForAvailableCandidates() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        when(mockItemRepository.findFreeIdsByIdIn(List.of(drill.getId()), start, end, Status.APPROVED))
+                .thenReturn(List.of(drill.getId()));
+        when(mockItemRepository.findAllById(List.of(drill.getId()))).thenReturn(List.of(drill));
+
+        List<Item> actual = searchEngine.searchFree("дрель", start, end, PageRequest.of(0, 10));
+
+        assertEquals(List.of(drill), actual);
+    }
+
+    @Test
+    void searchFree_whenNothingMatches_thenDatabaseNotQueried() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<Item> actual = searchEngine.searchFree("пила", start, start.plusDays(1), PageRequest.of(0, 10));
+
+        assertTrue(actual.isEmpty());
+        verifyNoInteractions(mockItemRepository);
+    }
+
+    @Test
+    void search_whenItemUpdated_thenOldWordsNotMatched() {
+        screwdriver.setName("Перфоратор");
+        searchEngine.index(screwdriver);
+
+        List<Item> actual = searchEngine.search("отвёртка", PageRequest.of(0, 10));
+
+        assertTrue(actual.isEmpty());
+        verify(mockItemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void search_whenItemRemoved_thenNotMatched() {
+        searchEngine.remove(drill.getId());
+
+        List<Item> actual = searchEngine.search("дрель", PageRequest.of(0, 10));
+
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void search_whenPageRequested_thenReturnedSlice() {
+        Item secondDrill = new Item(4L, "Дрель ударная", "Мощная", true, drill.getOwner(), null);
+        searchEngine.index(secondDrill);
+        when(mockItemRepository.findAllById(List.of(secondDrill.getId()))).thenReturn(List.of(secondDrill));
+
+        List<Item> actual = searchEngine.search("дрель", PageRequest.of(1, 1));
+
+        assertEquals(List.of(secondDrill), actual);
+    }
+
+    @Test
+    void search_whenIndexedItemDeletedInDatabase_thenPageRefilled() {
+        Item secondDrill = new Item(4L, "Дрель ударная", "Мощная", true, drill.getOwner(), null);
+        searchEngine.index(secondDrill);
+        when(mockItemRepository.findIdsByIdIn(List.of(drill.getId(), secondDrill.getId())))
+                .thenReturn(List.of(secondDrill.getId()));
+        when(mockItemRepository.findAllById(List.of(secondDrill.getId()))).thenReturn(List.of(secondDrill));
+
+        List<Item> actual = searchEngine.search("дрель", PageRequest.of(0, 1));
+
+        assertEquals(List.of(secondDrill), actual);
+    }
+
+    @Test
+    void rebuild_whenRepositoryHasItems_thenItemsIndexed() {
+        ItemSearchView view = mock(ItemSearchView.class);
+        when(view.getId()).thenReturn(5L);
+        when(view.getName()).thenReturn("Пила");
+        when(view.getDescription()).thenReturn("Ножовка");
+        when(view.getAvailable()).thenReturn(true);
+        when(mockItemRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1000))).thenReturn(List.of(view));
+        Item saw = new Item(5L, "Пила", "Ножовка", true, drill.getOwner(), null);
+        when(mockItemRepository.findAllById(List.of(5L))).thenReturn(List.of(saw));
+
+        searchEngine.rebuild();
+
+        assertEquals(List.of(saw), searchEngine.search("пила", PageRequest.of(0, 10)));
+        assertTrue(searchEngine.search("дрель", PageRequest.of(0, 10)).isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "shareit.search.engine=trigram")
+class TrigramItemSearchEngineIntegrationTest {
+    private static final List<String> QUERIES = List.of("дрель", "ель", "др", "д", "ь", "отвёртка", "ударная дрель",
+            "good", "oo", "xyz", "др_ль", "д%ль", "%", "_", "100%", "100\\%", "0\\_", "пила ", " ");
+
+    private final EntityManager em;
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine searchEngine;
+    private final UserService userService;
+
+    @BeforeEach
+    void setup() {
+        User owner = new User(null, "Owner", "o@mail.ru");
+        em.persist(owner);
+        em.persist(new Item(null, "Электродрель", "Good", true, owner, null));
+        em.persist(new Item(null, "Отвёртка", "Крестовая, почти как дрель", true, owner, null));
+        em.persist(new Item(null, "Просто дрель", "Скрыта", false, owner, null));
+        em.persist(new Item(null, "Молоток", "Ударная дрель внутри", false, owner, null));
+        em.persist(new Item(null, "Пила", "Ножовка 100% сталь", true, owner, null));
+        em.persist(new Item(null, "Пилa 100_0", "Good wood", true, owner, null));
+        em.persist(new Item(null, "Дрель ударная", "Мощная", true, owner, null));
+        em.flush();
+        ((IndexedItemSearchEngine) searchEngine).rebuild();
+    }
+
+    @Test
+    void search_whenCompareWithSql_thenResultsMatch() {
+        PageRequest page = PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "id"));
+        for (String query : QUERIES) {
+            assertEquals(ids(itemRepository.getItemsBySearchQuery(query, page)), ids(searchEngine.search(query, page)),
+                    "query: " + query);
+        }
+    }
+
+    @Test
+    void search_whenPaged_thenSlicesMatchSql() {
+        for (int from = 0; from < 6; from += 2) {
+            PageRequest page = PageRequest.of(from / 2, 2, Sort.by(Sort.Direction.ASC, "id"));
+            assertEquals(ids(itemRepository.getItemsBySearchQuery("дрель", page)), ids(searchEngine.search("дрель", page)));
+        }
+    }
+
+    @Test
+    void searchFree_whenCompareWithSql_thenResultsMatch() {
+        User booker = new User(null, "Booker", "b@mail.ru");
+        em.persist(booker);
+        List<Item> items = em.createQuery("select i from Item i order by i.id", Item.class).getResultList();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(2);
+        em.persist(new Booking(null, start.plusHours(1), end.plusHours(1), items.get(0), booker, Status.APPROVED));
+        em.persist(new Booking(null, start, end, items.get(1), booker, Status.WAITING));
+        em.persist(new Booking(null, end, end.plusDays(1), items.get(6), booker, Status.APPROVED));
+        em.flush();
+
+        PageRequest page = PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "id"));
+        for (String query : QUERIES) {
+            assertEquals(ids(itemRepository.getFreeItemsBySearchQuery(query, start, end, Status.APPROVED, page)),
+                    ids(searchEngine.searchFree(query, start, end, page)), "query: " + query);
+        }
+        PageRequest second = PageRequest.of(1, 1, Sort.by(Sort.Direction.ASC, "id"));
+        assertEquals(ids(itemRepository.getFreeItemsBySearchQuery("дрель", start, end, Status.APPROVED, second)),
+                ids(searchEngine.searchFree("дрель", start, end, second)));
+    }
+
+    @Test
+    void search_whenOwnerDeleted_thenPagesMatchSql() {
+        User other = new User(null, "Other", "other@mail.ru");
+        em.persist(other);
+        em.persist(new Item(null, "Дрель старая", "Чужая", true, other, null));
+        em.persist(new Item(null, "Дрель новая", "Чужая", true, other, null));
+        em.flush();
+        ((IndexedItemSearchEngine) searchEngine).rebuild();
+        User owner = em.createQuery("select u from User u where u.email = 'o@mail.ru'", User.class).getSingleResult();
+
+        userService.deleteUserById(owner.getId());
+        em.flush();
+
+        for (int from = 0; from < 4; from += 2) {
+            PageRequest page = PageRequest.of(from / 2, 2, Sort.by(Sort.Direction.ASC, "id"));
+            List<Long> expected = ids(itemRepository.getItemsBySearchQuery("дрель", page));
+            assertEquals(expected, ids(searchEngine.search("дрель", page)));
+        }
+        assertEquals(2, searchEngine.search("дрель", PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void search_whenItemIndexedAfterRebuild_thenFound() {
+        User owner = em.createQuery("select u from User u", User.class).getSingleResult();
+        Item item = new Item(null, "Шуруповёрт", "Новый", true, owner, null);
+        em.persist(item);
+        searchEngine.index(item);
+
+        List<Item> actual = searchEngine.search("шуруп", PageRequest.of(0, 10));
+
+        assertEquals(List.of(item.getId()), ids(actual));
+        assertEquals(1, searchEngine.search("шуруп_", PageRequest.of(0, 10)).size());
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(toList());
+    }
+}
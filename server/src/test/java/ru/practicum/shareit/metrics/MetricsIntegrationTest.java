@@ -0,0 +1,87 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MetricsIntegrationTest {
+    private final EntityManager em;
+    private final MockMvc mvc;
+    private final MeterRegistry meterRegistry;
+    private final BookingService bookingService;
+
+    @Test
+    void prometheus_thenExposeServiceTimersAndSqlStatementCounts() throws Exception {
+        mvc.perform(post("/users")
+                        .content("{\"name\":\"Ivan\",\"email\":\"metrics@email.ru\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        MvcResult users = mvc.perform(get("/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(users))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(matchesRegex("(?s).*shareit_service_seconds_count\\{[^}]*" +
+                        "class=\"ru.practicum.shareit.user.UserServiceImpl\"[^}]*method=\"createUser\".*")))
+                .andExpect(content().string(matchesRegex("(?s).*shareit_request_sql_statements_count\\{[^}]*" +
+                        "method=\"GET\",uri=\"/users\",} 1\\.0.*")))
+                // Пользователи читаются в потоке StreamingResponseBody, эти SQL-запросы тоже должны попасть в метрику
+                .andExpect(content().string(matchesRegex("(?s).*shareit_request_sql_statements_sum\\{[^}]*" +
+                        "method=\"GET\",uri=\"/users\",} [1-9].*")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")));
+    }
+
+    @Test
+    void updateBooking_thenCountTransition() {
+        User owner = new User(null, "Owner", "owner@email.ru");
+        em.persist(owner);
+        Item item = new Item(null, "Item", "GoodItem", true, owner, null);
+        em.persist(item);
+        User booker = new User(null, "Booker", "booker@email.ru");
+        em.persist(booker);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = new Booking(null, start, start.plusHours(2), item, booker, Status.WAITING);
+        em.persist(booking);
+        double before = meterRegistry.counter("shareit.booking.transitions",
+                "from", "WAITING", "to", "REJECTED").count();
+
+        bookingService.update(booking.getId(), owner.getId(), false);
+
+        assertEquals(before + 1, meterRegistry.counter("shareit.booking.transitions",
+                "from", "WAITING", "to", "REJECTED").count());
+    }
+}
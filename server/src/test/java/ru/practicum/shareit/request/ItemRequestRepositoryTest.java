@@ -60,7 +60,7 @@ class ItemRequestRepositoryTest {
         em.persist(requester);
         em.persist(request);
 
-        List<ItemRequest> actualList = repository.findByRequesterIdNot(2L, page);
+        List<ItemRequest> actualList = repository.findByRequesterIdNot(requester.getId() + 1, page);
         List<ItemRequest> emptyList = repository.findByRequesterIdNot(requester.getId(), page);
 
         assertEquals(1, actualList.size());
@@ -145,7 +145,7 @@ class ItemRequestServiceImplTest {
     void getItemRequestsByRequesterId_whenRequesterFound_thenReturnedListItemRequests() {
         long userId = requester.getId();
         when(mockCheckService.isExistUser(userId)).thenReturn(true);
-        when(mockItemRequestMapper.toItemRequestDto(request)).thenReturn(itemRequestToSave);
+        when(mockItemRequestMapper.toItemRequestDtos(List.of(request))).thenReturn(List.of(itemRequestToSave));
         when(mockItemRequestRepository.findByRequesterId(userId)).thenReturn(List.of(request));
 
         List<ItemRequestDto> actualRequestDtos = itemRequestService.getItemRequestsByRequesterId(userId);
@@ -180,7 +180,7 @@ class ItemRequestServiceImplTest {
         int size = 1;
         PageRequest page = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "created"));
         when(mockCheckService.isExistUser(userId)).thenReturn(true);
-        when(mockItemRequestMapper.toItemRequestDto(request)).thenReturn(itemRequestToSave);
+        when(mockItemRequestMapper.toItemRequestDtos(List.of(request))).thenReturn(List.of(itemRequestToSave));
         when(mockItemRequestRepository.findByRequesterIdNot(userId, page)).thenReturn(List.of(request));
 
         List<ItemRequestDto> actualRequestDtos = itemRequestService.getItemRequests(userId, from, size);
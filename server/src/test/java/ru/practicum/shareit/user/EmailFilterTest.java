@@ -0,0 +1,74 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailFilterTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private EmailFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new EmailFilter(userRepository, new SimpleMeterRegistry(), 1000, 0.01);
+    }
+
+    @Test
+    void create_whenSettingsInvalid_thenIllegalArgumentExceptionThrown() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        assertThrows(IllegalArgumentException.class, () -> new EmailFilter(userRepository, registry, 0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new EmailFilter(userRepository, registry, 1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EmailFilter(userRepository, registry, 1000, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmailFilter(userRepository, registry, Integer.MAX_VALUE, 1e-300));
+    }
+
+    @Test
+    void mightContain_whenNotBuilt_thenAlwaysTrue() {
+        assertTrue(filter.mightContain("ivan@email.ru"));
+    }
+
+    @Test
+    void mightContain_whenBuilt_thenKnownEmailsFound() {
+        when(userRepository.streamAllUsers()).thenReturn(Stream.of(new UserDto(1L, "Ivan", "ivan@email.ru")));
+        filter.rebuild();
+        filter.add("dima@email.ru");
+
+        assertTrue(filter.mightContain("ivan@email.ru"));
+        assertTrue(filter.mightContain("dima@email.ru"));
+        assertFalse(filter.mightContain("petr@email.ru"));
+    }
+
+    @Test
+    void mightContain_whenFilled_thenFalsePositivesAreRare() {
+        when(userRepository.streamAllUsers()).thenReturn(Stream.empty());
+        filter.rebuild();
+        for (int i = 0; i < 1000; i++) {
+            filter.add("user" + i + "@email.ru");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other" + i + "@email.ru")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "Ложных срабатываний: " + falsePositives);
+    }
+}
@@ -6,9 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.exception.ErrorHandler;
@@ -17,8 +19,8 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -26,6 +28,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -37,7 +40,8 @@ class UserControllerTest {
     @InjectMocks
     private UserController userController;
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    @Spy
+    private ObjectMapper mapper = new ObjectMapper();
 
     private MockMvc mvc;
 
@@ -86,29 +90,51 @@ class UserControllerTest {
 
     @Test
     void findAllUsers() throws Exception {
-        when(userService.getListAllUsers())
-                .thenReturn(List.of(userDto));
+        doAnswer(invocation -> {
+            invocation.<Consumer<UserDto>>getArgument(0).accept(userDto);
+            return null;
+        }).when(userService).forEachUser(any());
+
+        MvcResult result = mvc.perform(get("/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        mvc.perform(get("/users"))
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(userDto.getId()), Long.class))
                 .andExpect(jsonPath("$[0].name", is(userDto.getName())))
                 .andExpect(jsonPath("$[0].email", is(userDto.getEmail())));
 
-        verify(userService, times(1)).getListAllUsers();
+        verify(userService, times(1)).forEachUser(any());
     }
 
     @Test
     void findAllUsers_thenReturnedEmptyList() throws Exception {
-        when(userService.getListAllUsers())
-                .thenReturn(new ArrayList<>());
+        MvcResult result = mvc.perform(get("/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        mvc.perform(get("/users"))
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(userService, times(1)).getListAllUsers();
+        verify(userService, times(1)).forEachUser(any());
+    }
+
+    @Test
+    void findUsersPage() throws Exception {
+        when(userService.getUsers(0, 10))
+                .thenReturn(List.of(userDto));
+
+        mvc.perform(get("/users")
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(userDto.getId()), Long.class));
+
+        verify(userService, never()).forEachUser(any());
     }
 
     @Test
@@ -6,10 +6,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class UserRepositoryTest {
@@ -30,13 +30,11 @@ public class UserRepositoryTest {
     }
 
     @Test
-    void findByEmail_thenReturnUsers() {
+    void existsByEmailAndIdNot_thenIgnoreSameUser() {
         em.persist(user);
 
-        List<User> actualList = repository.findByEmail(user.getEmail());
-
-        assertNotNull(actualList);
-        assertEquals(user.getName(), actualList.get(0).getName());
-
+        assertTrue(repository.existsByEmail(user.getEmail()));
+        assertTrue(repository.existsByEmailAndIdNot(user.getEmail(), user.getId() + 1));
+        assertFalse(repository.existsByEmailAndIdNot(user.getEmail(), user.getId()));
     }
 }
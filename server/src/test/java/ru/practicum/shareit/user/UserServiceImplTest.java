@@ -6,15 +6,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.BookingCalendar;
+import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.exception.EmailExistException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemOwnerCache;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -29,6 +41,21 @@ class UserServiceImplTest {
     @Mock
     private UserMapper mockUserMapper;
 
+    @Mock
+    private EmailFilter mockEmailFilter;
+
+    @Mock
+    private ItemRepository mockItemRepository;
+
+    @Mock
+    private BookingCalendar mockCalendar;
+
+    @Mock
+    private ItemOwnerCache mockItemOwnerCache;
+
+    @Mock
+    private ItemSearchEngine mockSearchEngine;
+
     @InjectMocks
     private UserServiceImpl userService;
     private UserDto expectedUser;
@@ -85,27 +112,38 @@ class UserServiceImplTest {
 
 
     @Test
-    void getListAllUsers_whenListEmpty_thenReturnedEmptyList() {
-        when(mockUserRepository.findAll()).thenReturn(Collections.emptyList());
+    void getUsers_whenListEmpty_thenReturnedEmptyList() {
+        when(mockUserRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
 
-        List<UserDto> users = userService.getListAllUsers();
+        List<UserDto> users = userService.getUsers(0, 10);
 
         assertNotNull(users);
         assertEquals(0, users.size());
     }
 
     @Test
-    void getListAllUsers_whenListContainOneUser_thenReturnedUser() {
+    void getUsers_whenListContainOneUser_thenReturnedUser() {
+        PageRequest page = PageRequest.of(1, 10, Sort.by(Sort.Direction.ASC, "id"));
         when(mockUserMapper.toUserDto(user)).thenReturn(expectedUser);
-        when(mockUserRepository.findAll()).thenReturn(List.of(user));
+        when(mockUserRepository.findAll(page)).thenReturn(new PageImpl<>(List.of(user)));
 
-        List<UserDto> actualUsers = userService.getListAllUsers();
+        List<UserDto> actualUsers = userService.getUsers(10, 10);
 
         assertNotNull(actualUsers);
         assertEquals(1, actualUsers.size());
         assertThat(actualUsers.get(0).getName(), equalTo(user.getName()));
     }
 
+    @Test
+    void forEachUser_thenPassedEveryUser() {
+        when(mockUserRepository.streamAllUsers()).thenReturn(Stream.of(expectedUser));
+        List<UserDto> actualUsers = new ArrayList<>();
+
+        userService.forEachUser(actualUsers::add);
+
+        assertEquals(List.of(expectedUser), actualUsers);
+    }
+
     @Test
     void getUserById_whenUserFound_thenReturnedUser() {
         long userId = user.getId();
@@ -132,6 +170,65 @@ class UserServiceImplTest {
         assertEquals(error, exception.getMessage());
     }
 
+    @Test
+    void createUser_whenEmailNotInFilter_thenSavedWithoutExistenceCheck() {
+        when(mockEmailFilter.mightContain(expectedUser.getEmail())).thenReturn(false);
+        when(mockUserMapper.toUser(expectedUser)).thenReturn(user);
+        when(mockUserRepository.save(user)).thenReturn(user);
+        when(mockUserMapper.toUserDto(user)).thenReturn(expectedUser);
+
+        UserDto actualUser = userService.createUser(expectedUser);
+
+        assertEquals(expectedUser, actualUser);
+        verify(mockUserRepository, never()).existsByEmail(any());
+        verify(mockEmailFilter, times(1)).add(expectedUser.getEmail());
+    }
+
+    @Test
+    void createUser_whenEmailAlreadyExist_thenEmailExistExceptionThrown() {
+        String error = "Пользователь с Email=" + expectedUser.getEmail() + " уже существует!";
+        when(mockEmailFilter.mightContain(expectedUser.getEmail())).thenReturn(true);
+        when(mockUserRepository.existsByEmail(expectedUser.getEmail())).thenReturn(true);
+
+        EmailExistException exception = assertThrows(
+                EmailExistException.class,
+                () -> userService.createUser(expectedUser));
+
+        assertEquals(error, exception.getMessage());
+        verify(mockUserRepository, never()).save(any());
+    }
+
+    @Test
+    void createUser_whenEmailTakenConcurrently_thenEmailExistExceptionThrown() {
+        String error = "Пользователь с Email=" + expectedUser.getEmail() + " уже существует!";
+        when(mockEmailFilter.mightContain(expectedUser.getEmail())).thenReturn(false);
+        when(mockUserMapper.toUser(expectedUser)).thenReturn(user);
+        when(mockUserRepository.save(user)).thenThrow(new DataIntegrityViolationException("UQ_USER_EMAIL"));
+
+        EmailExistException exception = assertThrows(
+                EmailExistException.class,
+                () -> userService.createUser(expectedUser));
+
+        assertEquals(error, exception.getMessage());
+        verify(mockEmailFilter, times(1)).add(expectedUser.getEmail());
+    }
+
+    @Test
+    void updateUser_whenEmailTakenConcurrently_thenEmailExistExceptionThrown() {
+        long userId = user.getId();
+        String error = "Пользователь с Email=" + userToUpdate.getEmail() + " уже существует!";
+        when(mockUserRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(mockEmailFilter.mightContain(userToUpdate.getEmail())).thenReturn(false);
+        when(mockUserRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("UQ_USER_EMAIL"));
+
+        EmailExistException exception = assertThrows(
+                EmailExistException.class,
+                () -> userService.updateUser(userId, userToUpdate));
+
+        assertEquals(error, exception.getMessage());
+        verify(mockUserRepository, never()).existsByEmailAndIdNot(any(), any());
+    }
+
     @Test
     void updateUser_whenUserNotFound_thenReturnedNotFoundExceptionThrown() {
         long userIdNotFound = 0L;
@@ -150,23 +247,31 @@ class UserServiceImplTest {
         long userId = user.getId();
         String error = String.format("Пользователь с Email=" + userToUpdate.getEmail() + " уже существует!");
         when(mockUserRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(mockUserRepository.findByEmail(userToUpdate.getEmail())).thenReturn(List.of(new User(2L, "Dima", "ivan2@email.ru")));
+        when(mockEmailFilter.mightContain(userToUpdate.getEmail())).thenReturn(true);
+        when(mockUserRepository.existsByEmailAndIdNot(userToUpdate.getEmail(), userId)).thenReturn(true);
 
         EmailExistException exception = assertThrows(
                 EmailExistException.class,
                 () -> userService.updateUser(userId, userToUpdate));
 
         assertEquals(error, exception.getMessage());
-        verify(mockUserRepository, never()).save(any());
+        verify(mockUserRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void deleteUser() {
         long userId = 1L;
+        when(mockItemRepository.findIdsByOwnerId(userId)).thenReturn(List.of(2L));
+        when(mockItemRepository.findBookedIdsByBookerId(userId, Status.APPROVED)).thenReturn(List.of(3L));
 
         userService.deleteUserById(userId);
 
         verify(mockUserRepository, times(1)).deleteById(userId);
+        verify(mockItemOwnerCache, times(1)).evict(2L);
+        verify(mockSearchEngine, times(1)).remove(2L);
+        verify(mockSearchEngine, never()).remove(3L);
+        verify(mockCalendar, times(1)).evict(2L);
+        verify(mockCalendar, times(1)).evict(3L);
     }
 }
 
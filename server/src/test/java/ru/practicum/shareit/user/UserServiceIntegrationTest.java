@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.EmailExistException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -12,11 +13,13 @@ import ru.practicum.shareit.user.model.User;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
@@ -26,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 public class UserServiceIntegrationTest {
     private final EntityManager em;
     private final UserService service;
+    private final EmailFilter emailFilter;
 
     @Test
     void createUser() {
@@ -44,14 +48,15 @@ public class UserServiceIntegrationTest {
 
 
     @Test
-    void getListAllUsers() {
+    void forEachUser() {
         UserDto userDto1 = makeUserDto("Ivan", "ivan@email.ru");
         service.createUser(userDto1);
 
         UserDto userDto2 = makeUserDto("Dima", "dima@email.ru");
         service.createUser(userDto2);
 
-        List<UserDto> actualUsers = service.getListAllUsers();
+        List<UserDto> actualUsers = new ArrayList<>();
+        service.forEachUser(actualUsers::add);
 
         assertThat(actualUsers, hasSize(2));
         assertThat(actualUsers.get(0).getId(), notNullValue());
@@ -63,6 +68,20 @@ public class UserServiceIntegrationTest {
     }
 
 
+    @Test
+    void getUsers() {
+        UserDto userDto1 = makeUserDto("Ivan", "ivan@email.ru");
+        service.createUser(userDto1);
+
+        UserDto userDto2 = makeUserDto("Dima", "dima@email.ru");
+        service.createUser(userDto2);
+
+        List<UserDto> actualUsers = service.getUsers(1, 1);
+
+        assertThat(actualUsers, hasSize(1));
+        assertThat(actualUsers.get(0).getName(), equalTo(userDto2.getName()));
+    }
+
     @Test
     void getUserById() {
         UserDto userDto = makeUserDto("Ivan", "ivan@email.ru");
@@ -99,6 +118,31 @@ public class UserServiceIntegrationTest {
         assertThat(actualUser.getEmail(), equalTo(userToUpdate.getEmail()));
     }
 
+    @Test
+    void createUser_whenEmailTakenButNotInFilter_thenEmailExistExceptionThrown() {
+        persistUser("Dima", "taken@email.ru");
+        assertFalse(emailFilter.mightContain("taken@email.ru"));
+
+        EmailExistException exception = assertThrows(
+                EmailExistException.class,
+                () -> service.createUser(makeUserDto("Ivan", "taken@email.ru")));
+
+        assertEquals("Пользователь с Email=taken@email.ru уже существует!", exception.getMessage());
+    }
+
+    @Test
+    void updateUser_whenEmailTakenButNotInFilter_thenEmailExistExceptionThrown() {
+        persistUser("Dima", "busy@email.ru");
+        User user = persistUser("Ivan", "ivan@email.ru");
+        assertFalse(emailFilter.mightContain("busy@email.ru"));
+
+        EmailExistException exception = assertThrows(
+                EmailExistException.class,
+                () -> service.updateUser(user.getId(), makeUserDto(null, "busy@email.ru")));
+
+        assertEquals("Пользователь с Email=busy@email.ru уже существует!", exception.getMessage());
+    }
+
     @Test
     void deleteUserById() {
         UserDto userDto = makeUserDto("Ivan", "ivan@email.ru");
@@ -121,6 +165,17 @@ public class UserServiceIntegrationTest {
     }
 
 
+    // Пользователь записывается в БД в обход сервиса, поэтому его адреса нет в фильтре
+    private User persistUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        em.persist(user);
+        em.flush();
+        em.detach(user);
+        return user;
+    }
+
     private UserDto makeUserDto(String name, String email) {
         UserDto dto = new UserDto();
         dto.setName(name);